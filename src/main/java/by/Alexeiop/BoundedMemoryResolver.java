@@ -0,0 +1,113 @@
+package by.Alexeiop;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Построение графа с ограниченным потреблением памяти (режим -resolutionMode disk).
+ * В отличие от DependencyGraphBuilder, в куче не хранятся ни объекты PackageInfo,
+ * ни Map посещенных пакетов, ни очередь BFS:
+ * - множество посещенных пакетов - MappedLongHashTable (хеш пакета -> номер узла);
+ * - очередь BFS - MappedFrontierQueue;
+ * - узлы и ребра сразу дописываются в файлы (см. DiskGraph), откуда читаются анализом и визуализацией;
+ * - в TEST-режиме строки репозитория читаются по смещению из TestRepositoryIndex.
+ * Служебные файлы создаются в spillDirectory и удаляются после построения.
+ */
+public class BoundedMemoryResolver {
+
+    // Интервал вывода прогресса (вывод строки на каждый пакет для миллионов узлов слишком дорог)
+    private static final int PROGRESS_STEP = 100_000;
+
+    private final DependencyFetcher fetcher;
+    private final Path spillDirectory;
+
+    public BoundedMemoryResolver(DependencyFetcher fetcher, Path spillDirectory) {
+        this.fetcher = fetcher;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * Строит граф в файлы outputBaseName.nodes и outputBaseName.edges.
+     */
+    public DiskGraph resolve(String rootPackageId, String rootPackageVersion, String repositorySource,
+                             Integer maxDepth, String workingMode, String outputBaseName) throws IOException {
+        System.out.println("--- Построение графа с ограниченной памятью (файлы в " + spillDirectory + ") ---");
+        long start = System.nanoTime();
+        Path nodesFile = Path.of(outputBaseName + ".nodes");
+        Path edgesFile = Path.of(outputBaseName + ".edges");
+        boolean testMode = "TEST".equalsIgnoreCase(workingMode);
+
+        int nodeCount = 0;
+        long edgeCount = 0;
+        TestRepositoryIndex testIndex = testMode ? TestRepositoryIndex.build(Path.of(repositorySource), spillDirectory) : null;
+        try (MappedLongHashTable visited = new MappedLongHashTable(spillDirectory, "visited", 1 << 16);
+             MappedFrontierQueue queue = new MappedFrontierQueue(spillDirectory.resolve("frontier.bin"));
+             BufferedWriter nodes = Files.newBufferedWriter(nodesFile);
+             DataOutputStream edges = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(edgesFile), 1 << 16))) {
+            if (testIndex != null) {
+                System.out.printf("Индекс тестового репозитория построен за %d мс%n", (System.nanoTime() - start) / 1_000_000);
+            }
+
+            visited.putIfAbsent(MappedLongHashTable.hashKey(rootPackageId, rootPackageVersion), nodeCount);
+            writeNode(nodes, rootPackageId, rootPackageVersion);
+            queue.add(nodeCount++, 0, rootPackageId, rootPackageVersion);
+
+            long processed = 0;
+            while (!queue.isEmpty()) {
+                MappedFrontierQueue.Entry current = queue.poll();
+                if (++processed % PROGRESS_STEP == 0) {
+                    System.out.printf("   Обработано пакетов: %d, найдено: %d, ребер: %d%n", processed, nodeCount, edgeCount);
+                }
+                // Ограничение глубины: как в DependencyGraphBuilder, узел добавлен, но не раскрывается
+                if (maxDepth != null && current.getDepth() >= maxDepth) {
+                    continue;
+                }
+
+                List<PackageInfo> dependencies = testMode
+                        ? testIndex.getDependencies(current.getId(), current.getVersion())
+                        : getRealDependencies(current, repositorySource);
+                for (PackageInfo dep : dependencies) {
+                    long key = MappedLongHashTable.hashKey(dep.getId(), dep.getVersion());
+                    int target;
+                    if (visited.putIfAbsent(key, nodeCount)) {
+                        target = nodeCount++;
+                        writeNode(nodes, dep.getId(), dep.getVersion());
+                        queue.add(target, current.getDepth() + 1, dep.getId(), dep.getVersion());
+                    } else {
+                        target = (int) visited.get(key, -1);
+                    }
+                    edges.writeInt(current.getNode());
+                    edges.writeInt(target);
+                    edgeCount++;
+                }
+            }
+        } finally {
+            if (testIndex != null) testIndex.close();
+        }
+
+        System.out.printf("--- Построение графа завершено: %d узлов, %d ребер за %d мс ---%n",
+                nodeCount, edgeCount, (System.nanoTime() - start) / 1_000_000);
+        return new DiskGraph(nodesFile, edgesFile, nodeCount, edgeCount);
+    }
+
+    private void writeNode(BufferedWriter nodes, String id, String version) throws IOException {
+        nodes.write(id);
+        nodes.write('\t');
+        nodes.write(version);
+        nodes.write('\n');
+    }
+
+    private List<PackageInfo> getRealDependencies(MappedFrontierQueue.Entry pkg, String repositoryUrl) {
+        try {
+            return fetcher.fetchDirectDependenciesList(pkg.getId(), pkg.getVersion(), repositoryUrl);
+        } catch (Exception e) {
+            System.err.println("Ошибка при получении зависимостей для " + pkg.getId() + ": " + e.getMessage());
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package by.Alexeiop;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+
+/**
+ * Экспорт в два CSV-файла: список узлов (key,id,version) и список ребер (from,to).
+ */
+public class CsvExporter implements GraphExporter {
+
+    private final Writer nodesWriter;
+    private final Writer edgesWriter;
+
+    public CsvExporter(Path nodesFile, Path edgesFile) throws IOException {
+        this.nodesWriter = GraphExporter.openWriter(nodesFile);
+        Writer edges;
+        try {
+            edges = GraphExporter.openWriter(edgesFile);
+        } catch (IOException e) {
+            nodesWriter.close();
+            throw e;
+        }
+        this.edgesWriter = edges;
+    }
+
+    @Override
+    public void beginGraph(PackageInfo root) throws IOException {
+        nodesWriter.write("key,id,version\n");
+        edgesWriter.write("from,to\n");
+    }
+
+    @Override
+    public void node(PackageInfo pkg) throws IOException {
+        writeKey(nodesWriter, pkg);
+        nodesWriter.write(',');
+        nodesWriter.write(escapeCsv(pkg.getId()));
+        nodesWriter.write(',');
+        nodesWriter.write(escapeCsv(pkg.getVersion()));
+        nodesWriter.write('\n');
+    }
+
+    @Override
+    public void edge(PackageInfo from, PackageInfo to) throws IOException {
+        writeKey(edgesWriter, from);
+        edgesWriter.write(',');
+        writeKey(edgesWriter, to);
+        edgesWriter.write('\n');
+    }
+
+    @Override
+    public void endGraph() {
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            nodesWriter.close();
+        } finally {
+            edgesWriter.close();
+        }
+    }
+
+    private static void writeKey(Writer writer, PackageInfo pkg) throws IOException {
+        if (needsQuoting(pkg.getId()) || needsQuoting(pkg.getVersion())) {
+            writer.write(escapeCsv(GraphExporter.nodeKey(pkg)));
+        } else {
+            writer.write(pkg.getId());
+            writer.write(':');
+            writer.write(pkg.getVersion());
+        }
+    }
+
+    private static boolean needsQuoting(String value) {
+        return value.indexOf(',') != -1 || value.indexOf('"') != -1 || value.indexOf('\n') != -1
+                || value.indexOf('\r') != -1;
+    }
+
+    /**
+     * Экранирование по RFC 4180: значения с запятой, кавычкой или переводом строки (CR или LF) берутся в кавычки.
+     */
+    private static String escapeCsv(String value) {
+        if (!needsQuoting(value)) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,270 @@
+package by.Alexeiop;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Анализ циклов и компонент сильной связности (алгоритм Тарьяна).
+ * Реализация итеративная (явный стек вместо рекурсии), работает за O(V + E)
+ * и подходит для графов из миллионов узлов.
+ * Дополнительно строит топологический порядок сжатого графа (DAG компонент),
+ * глубину каждого узла и длину критического пути.
+ */
+public class CycleAnalyzer {
+
+    /**
+     * Результат анализа.
+     */
+    public static class Result {
+        private final GraphIndex graph;
+        private final int[] componentOf;
+        private final int componentCount;
+        private final int[] topologicalOrder;
+        private final int[] componentDepth;
+        private final int[] componentHeight;
+        private final List<List<PackageInfo>> cycles;
+        private final boolean[] cyclicComponent;
+        private final int criticalPathLength;
+        private final long elapsedNanos;
+
+        private Result(GraphIndex graph, int[] componentOf, int componentCount, int[] topologicalOrder,
+                       int[] componentDepth, int[] componentHeight, List<List<PackageInfo>> cycles,
+                       boolean[] cyclicComponent, int criticalPathLength, long elapsedNanos) {
+            this.graph = graph;
+            this.componentOf = componentOf;
+            this.componentCount = componentCount;
+            this.topologicalOrder = topologicalOrder;
+            this.componentDepth = componentDepth;
+            this.componentHeight = componentHeight;
+            this.cycles = cycles;
+            this.cyclicComponent = cyclicComponent;
+            this.criticalPathLength = criticalPathLength;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public int getComponentCount() {
+            return componentCount;
+        }
+
+        /**
+         * @return Номер компоненты сильной связности для узла с индексом node.
+         */
+        public int getComponent(int node) {
+            return componentOf[node];
+        }
+
+        /**
+         * @return Номера компонент в топологическом порядке (от корня к листьям).
+         */
+        public int[] getTopologicalOrder() {
+            return topologicalOrder;
+        }
+
+        /**
+         * @return Истинные циклы: компоненты из нескольких пакетов или пакет, зависящий сам от себя.
+         */
+        public List<List<PackageInfo>> getCycles() {
+            return cycles;
+        }
+
+        public boolean isInCycle(PackageInfo pkg) {
+            int node = graph.indexOf(pkg);
+            return node >= 0 && cyclicComponent[componentOf[node]];
+        }
+
+        /**
+         * Глубина узла: длина самого длинного пути от корня в сжатом графе.
+         */
+        public int getDepth(int node) {
+            return componentDepth[componentOf[node]];
+        }
+
+        /**
+         * Высота узла: длина самого длинного пути от узла до листа в сжатом графе.
+         */
+        public int getHeight(int node) {
+            return componentHeight[componentOf[node]];
+        }
+
+        /**
+         * Длина критического пути (в ребрах сжатого графа).
+         */
+        public int getCriticalPathLength() {
+            return criticalPathLength;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        public void printReport(PrintStream out) {
+            out.println("\n*** Анализ циклов (компоненты сильной связности) ***");
+            out.printf("Узлов: %d, ребер: %d, компонент: %d%n", graph.size(), graph.edgeCount(), componentCount);
+            if (cycles.isEmpty()) {
+                out.println("Циклы не найдены: повторы в дереве являются общими зависимостями (ромбами).");
+            } else {
+                out.println("Найдено циклов: " + cycles.size());
+                for (int i = 0; i < cycles.size(); i++) {
+                    out.printf("- Цикл %d: %s%n", i + 1, cycles.get(i));
+                }
+            }
+            out.println("Длина критического пути: " + criticalPathLength);
+
+            // Выводим глубину только для небольших графов, чтобы не засорять консоль
+            if (graph.size() <= 100) {
+                out.println("Топологический порядок (глубина/высота):");
+                for (int component : topologicalOrder) {
+                    for (int node = 0; node < graph.size(); node++) {
+                        if (componentOf[node] == component) {
+                            out.printf("- %s [глубина %d, высота %d]%n",
+                                    graph.node(node), getDepth(node), getHeight(node));
+                        }
+                    }
+                }
+            }
+            out.println("Время анализа: " + getElapsedMillis() + " мс");
+        }
+    }
+
+    /**
+     * Выполняет анализ графа, достижимого из корня.
+     */
+    public Result analyze(PackageInfo root) {
+        return analyze(GraphIndex.build(root));
+    }
+
+    public Result analyze(GraphIndex graph) {
+        long start = System.nanoTime();
+        int n = graph.size();
+
+        // 1. Итеративный алгоритм Тарьяна
+        int[] index = new int[n];
+        int[] low = new int[n];
+        int[] componentOf = new int[n];
+        int[] nextEdge = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int[] callStack = new int[n];
+        Arrays.fill(index, -1);
+
+        int counter = 0;
+        int stackTop = 0;
+        int componentCount = 0;
+
+        for (int source = 0; source < n; source++) {
+            if (index[source] != -1) continue;
+
+            int callTop = 0;
+            callStack[callTop++] = source;
+            index[source] = low[source] = counter++;
+            nextEdge[source] = graph.edgeStart(source);
+            stack[stackTop++] = source;
+            onStack[source] = true;
+
+            while (callTop > 0) {
+                int v = callStack[callTop - 1];
+                if (nextEdge[v] < graph.edgeEnd(v)) {
+                    int w = graph.target(nextEdge[v]++);
+                    if (index[w] == -1) {
+                        // "Рекурсивный вызов" для w
+                        index[w] = low[w] = counter++;
+                        nextEdge[w] = graph.edgeStart(w);
+                        stack[stackTop++] = w;
+                        onStack[w] = true;
+                        callStack[callTop++] = w;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                } else {
+                    // "Возврат" из v
+                    callTop--;
+                    if (low[v] == index[v]) {
+                        int w;
+                        do {
+                            w = stack[--stackTop];
+                            onStack[w] = false;
+                            componentOf[w] = componentCount;
+                        } while (w != v);
+                        componentCount++;
+                    }
+                    if (callTop > 0) {
+                        int parent = callStack[callTop - 1];
+                        low[parent] = Math.min(low[parent], low[v]);
+                    }
+                }
+            }
+        }
+
+        // 2. Группировка узлов по компонентам (сортировка подсчетом)
+        int[] componentStart = new int[componentCount + 1];
+        for (int v = 0; v < n; v++) componentStart[componentOf[v] + 1]++;
+        for (int c = 0; c < componentCount; c++) componentStart[c + 1] += componentStart[c];
+        int[] members = new int[n];
+        int[] fill = Arrays.copyOf(componentStart, componentCount);
+        for (int v = 0; v < n; v++) members[fill[componentOf[v]]++] = v;
+
+        // 3. Истинные циклы
+        List<List<PackageInfo>> cycles = new ArrayList<>();
+        boolean[] cyclicComponent = new boolean[componentCount];
+        for (int c = 0; c < componentCount; c++) {
+            int size = componentStart[c + 1] - componentStart[c];
+            int first = members[componentStart[c]];
+            if (size > 1 || hasSelfLoop(graph, first)) {
+                List<PackageInfo> cycle = new ArrayList<>(size);
+                for (int i = componentStart[c]; i < componentStart[c + 1]; i++) {
+                    cycle.add(graph.node(members[i]));
+                }
+                cycles.add(cycle);
+                cyclicComponent[c] = true;
+            }
+        }
+
+        // 4. Тарьян выдает компоненты в обратном топологическом порядке (сначала стоки)
+        int[] topologicalOrder = new int[componentCount];
+        for (int c = 0; c < componentCount; c++) {
+            topologicalOrder[componentCount - 1 - c] = c;
+        }
+
+        // 5. Глубина (самый длинный путь от корня): обход в топологическом порядке
+        int[] depth = new int[componentCount];
+        for (int c = componentCount - 1; c >= 0; c--) {
+            for (int i = componentStart[c]; i < componentStart[c + 1]; i++) {
+                int v = members[i];
+                for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                    int target = componentOf[graph.target(e)];
+                    if (target != c && depth[target] < depth[c] + 1) {
+                        depth[target] = depth[c] + 1;
+                    }
+                }
+            }
+        }
+
+        // 6. Высота (самый длинный путь до листа): обход в обратном топологическом порядке
+        int[] height = new int[componentCount];
+        int criticalPathLength = 0;
+        for (int c = 0; c < componentCount; c++) {
+            for (int i = componentStart[c]; i < componentStart[c + 1]; i++) {
+                int v = members[i];
+                for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                    int target = componentOf[graph.target(e)];
+                    if (target != c && height[c] < height[target] + 1) {
+                        height[c] = height[target] + 1;
+                    }
+                }
+            }
+            criticalPathLength = Math.max(criticalPathLength, height[c]);
+        }
+
+        return new Result(graph, componentOf, componentCount, topologicalOrder, depth, height,
+                cycles, cyclicComponent, criticalPathLength, System.nanoTime() - start);
+    }
+
+    private boolean hasSelfLoop(GraphIndex graph, int node) {
+        for (int e = graph.edgeStart(node); e < graph.edgeEnd(node); e++) {
+            if (graph.target(e) == node) return true;
+        }
+        return false;
+    }
+}
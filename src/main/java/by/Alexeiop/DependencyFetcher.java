@@ -10,6 +10,9 @@ import java.net.http.HttpResponse;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 import javax.xml.parsers.DocumentBuilder;
@@ -24,29 +27,70 @@ import org.w3c.dom.NodeList;
  */
 public class DependencyFetcher {
 
-    private final HttpClient httpClient;
     private static final String PACKAGE_BASE_ADDRESS_TYPE = "PackageBaseAddress/3.0.0";
-    private String packageBaseUrl = null;
+    // URL PackageBaseAddress для каждого индекса сервиса: в режиме сервера один fetcher
+    // обслуживает запросы к разным репозиториям (и из нескольких потоков)
+    private final Map<String, String> packageBaseUrls = new ConcurrentHashMap<>();
+
+    // HttpClient создается при первом сетевом запросе: его инициализация (SSL и т.д.)
+    // заметно замедляет запуск, а в TEST-режиме он не нужен вовсе
+    private volatile HttpClient httpClient;
+
+    // ReentrantLock вместо synchronized: виртуальный поток, ожидающий внутри synchronized
+    // (сетевой ответ или долгую инициализацию), занимает поток-носитель (JDK 21),
+    // и при одном ядре обработчики сервера зависают
+    private final ReentrantLock httpClientLock = new ReentrantLock();
+    private final ReentrantLock discoveryLock = new ReentrantLock();
 
     public DependencyFetcher() {
-        this.httpClient = HttpClient.newHttpClient();
+    }
+
+    private HttpClient httpClient() {
+        HttpClient client = httpClient;
+        if (client == null) {
+            httpClientLock.lock();
+            try {
+                if (httpClient == null) {
+                    httpClient = HttpClient.newHttpClient();
+                }
+                client = httpClient;
+            } finally {
+                httpClientLock.unlock();
+            }
+        }
+        return client;
     }
 
     /**
      * Ищет URL PackageBaseAddress в serviceIndex.json.
      * @param serviceIndexUrl URL корневого индекса репозитория (например, https://api.nuget.org/v3/index.json).
+     * @return URL PackageBaseAddress этого репозитория.
      */
-    private void discoverPackageBaseUrl(String serviceIndexUrl) throws IOException, InterruptedException {
+    private String discoverPackageBaseUrl(String serviceIndexUrl) throws IOException, InterruptedException {
+        String packageBaseUrl = packageBaseUrls.get(serviceIndexUrl);
         if (packageBaseUrl != null) {
-            return;
+            return packageBaseUrl;
         }
+        discoveryLock.lock();
+        try {
+            packageBaseUrl = packageBaseUrls.get(serviceIndexUrl);
+            if (packageBaseUrl == null) {
+                packageBaseUrl = requestPackageBaseUrl(serviceIndexUrl);
+                packageBaseUrls.put(serviceIndexUrl, packageBaseUrl);
+            }
+            return packageBaseUrl;
+        } finally {
+            discoveryLock.unlock();
+        }
+    }
 
+    private String requestPackageBaseUrl(String serviceIndexUrl) throws IOException, InterruptedException {
         System.out.println("   [NuGet] Обнаружение PackageBaseAddress...");
         HttpRequest request = HttpRequest.newBuilder(URI.create(serviceIndexUrl))
                 .header("Accept", "application/json")
                 .build();
 
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response = httpClient().send(request, HttpResponse.BodyHandlers.ofString());
 
         if (response.statusCode() != 200) {
             throw new IOException("Не удалось загрузить индекс сервиса. Код: " + response.statusCode());
@@ -67,8 +111,9 @@ public class DependencyFetcher {
         int endIndex = json.indexOf("\"", startIndex);
 
         if (startIndex != -1 && endIndex != -1) {
-            packageBaseUrl = json.substring(startIndex, endIndex);
+            String packageBaseUrl = json.substring(startIndex, endIndex);
             System.out.println("   [NuGet] Base URL найден: " + packageBaseUrl);
+            return packageBaseUrl;
         } else {
             throw new IOException("Не удалось извлечь URL PackageBaseAddress.");
         }
@@ -78,7 +123,7 @@ public class DependencyFetcher {
      * Основной метод: получает список прямых зависимостей для заданного пакета.
      */
     public List<PackageInfo> fetchDirectDependenciesList(String packageId, String version, String serviceIndexUrl) throws Exception {
-        discoverPackageBaseUrl(serviceIndexUrl);
+        String packageBaseUrl = discoverPackageBaseUrl(serviceIndexUrl);
 
         // Формируем URL для скачивания .nupkg
         // Пример: https://api.nuget.org/v3-flatcontainer/newtonsoft.json/13.0.1/newtonsoft.json.13.0.1.nupkg
@@ -91,7 +136,7 @@ public class DependencyFetcher {
 
         System.out.println("   [NuGet] Скачивание пакета: " + url);
         HttpRequest request = HttpRequest.newBuilder(URI.create(url)).build();
-        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        HttpResponse<InputStream> response = httpClient().send(request, HttpResponse.BodyHandlers.ofInputStream());
 
         if (response.statusCode() != 200) {
             // Если пакет не найден (404), он, вероятно, является мета-пакетом без nuspec.
@@ -117,7 +162,7 @@ public class DependencyFetcher {
                 // Ищем файл метаданных (он может быть в корне или в подпапке)
                 if (entry.getName().toLowerCase().endsWith(".nuspec") && entry.getName().toLowerCase().contains(nuspecName)) {
 
-                    dependencies.addAll(parseNuspecXml(zipIs));
+                    dependencies.addAll(NuspecParser.parseNuspecXml(zipIs));
                     return dependencies;
                 }
             }
@@ -127,51 +172,12 @@ public class DependencyFetcher {
         return dependencies;
     }
 
-    /**
-     * Парсит XML-файл .nuspec для извлечения зависимостей.
-     */
-    private List<PackageInfo> parseNuspecXml(InputStream xmlStream) throws Exception {
-        List<PackageInfo> dependencies = new ArrayList<>();
-
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        DocumentBuilder builder = factory.newDocumentBuilder();
-        Document doc = builder.parse(xmlStream);
-        doc.getDocumentElement().normalize();
-
-        // Ищем узел <dependencies>
-        NodeList depGroups = doc.getElementsByTagName("group");
-
-        // NuGet разделяет зависимости по целевым фреймворкам (group targetFramework="...")
-        for (int i = 0; i < depGroups.getLength(); i++) {
-            Element group = (Element) depGroups.item(i);
-
-            // Внимание: Здесь происходит упрощение. В реальной жизни нужно выбрать
-            // подходящую группу (например, .NET Standard 2.0 или .NET Core 3.1).
-            // Для целей демонстрации мы берем зависимости из всех групп.
-
-            NodeList dependencyNodes = group.getElementsByTagName("dependency");
-            for (int j = 0; j < dependencyNodes.getLength(); j++) {
-                Element dep = (Element) dependencyNodes.item(j);
-                String id = dep.getAttribute("id");
-                String versionRange = dep.getAttribute("version");
-
-                if (id != null && !id.isEmpty() && versionRange != null && !versionRange.isEmpty()) {
-                    // Используем упрощенный подход: берем минимальную версию из диапазона.
-                    // Например, для "[4.3.0, )" берем "4.3.0".
-                    String version = extractMinVersion(versionRange);
-                    dependencies.add(new PackageInfo(id, version));
-                }
-            }
-        }
-        return dependencies;
-    }
-
     /**
      * Извлекает минимально необходимую версию из строки диапазона NuGet.
      * (Очень упрощенная реализация для целей проекта)
      * e.g., "[4.3.0, )" -> "4.3.0", "4.3.0" -> "4.3.0"
      */
-    private String extractMinVersion(String versionRange) {
+    private static String extractMinVersion(String versionRange) {
         if (versionRange.startsWith("[") || versionRange.startsWith("(")) {
             int commaIndex = versionRange.indexOf(',');
             String minVersion = (commaIndex != -1) ? versionRange.substring(1, commaIndex).trim() : versionRange.substring(1).trim();
@@ -183,4 +189,50 @@ public class DependencyFetcher {
         }
         return versionRange; // Если это просто точная версия
     }
-}
\ No newline at end of file
+
+    /**
+     * Разбор XML вынесен во вложенный класс, чтобы классы javax.xml загружались
+     * только при первом реальном разборе .nuspec (в TEST-режиме - никогда).
+     */
+    private static class NuspecParser {
+
+        /**
+         * Парсит XML-файл .nuspec для извлечения зависимостей.
+         */
+        static List<PackageInfo> parseNuspecXml(InputStream xmlStream) throws Exception {
+            List<PackageInfo> dependencies = new ArrayList<>();
+
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            Document doc = builder.parse(xmlStream);
+            doc.getDocumentElement().normalize();
+
+            // Ищем узел <dependencies>
+            NodeList depGroups = doc.getElementsByTagName("group");
+
+            // NuGet разделяет зависимости по целевым фреймворкам (group targetFramework="...")
+            for (int i = 0; i < depGroups.getLength(); i++) {
+                Element group = (Element) depGroups.item(i);
+
+                // Внимание: Здесь происходит упрощение. В реальной жизни нужно выбрать
+                // подходящую группу (например, .NET Standard 2.0 или .NET Core 3.1).
+                // Для целей демонстрации мы берем зависимости из всех групп.
+
+                NodeList dependencyNodes = group.getElementsByTagName("dependency");
+                for (int j = 0; j < dependencyNodes.getLength(); j++) {
+                    Element dep = (Element) dependencyNodes.item(j);
+                    String id = dep.getAttribute("id");
+                    String versionRange = dep.getAttribute("version");
+
+                    if (id != null && !id.isEmpty() && versionRange != null && !versionRange.isEmpty()) {
+                        // Используем упрощенный подход: берем минимальную версию из диапазона.
+                        // Например, для "[4.3.0, )" берем "4.3.0".
+                        String version = extractMinVersion(versionRange);
+                        dependencies.add(new PackageInfo(id, version));
+                    }
+                }
+            }
+            return dependencies;
+        }
+    }
+}
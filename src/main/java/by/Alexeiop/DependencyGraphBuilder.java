@@ -4,6 +4,11 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Отвечает за построение графа зависимостей, используя BFS.
@@ -13,8 +18,29 @@ public class DependencyGraphBuilder {
 
     private final DependencyFetcher fetcher;
 
+    // Размер кэша по умолчанию: суммарное количество закэшированных ребер
+    private static final long DEFAULT_CACHE_BUDGET = 1_000_000;
+
+    // Максимальное количество проходов разрешения версий NuGet (обычно хватает двух)
+    private static final int NUGET_MAX_PASSES = 10;
+
+    // Кэш загруженных прямых зависимостей (ИСТОЧНИК|id_version -> зависимости)
+    private final LruCache<String, List<PackageInfo>> fetchedDependencies;
+    private final AtomicInteger fetchCount = new AtomicInteger();
+    // Предзагруженные пакеты (ключи кэша), которые еще не запрашивались при построении графа
+    private final Set<String> unusedPrefetches = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger failedPrefetches = new AtomicInteger();
+
     public DependencyGraphBuilder(DependencyFetcher fetcher) {
+        this(fetcher, DEFAULT_CACHE_BUDGET);
+    }
+
+    /**
+     * @param cacheBudget Максимальное количество ребер в кэше загруженных зависимостей.
+     */
+    public DependencyGraphBuilder(DependencyFetcher fetcher, long cacheBudget) {
         this.fetcher = fetcher;
+        this.fetchedDependencies = new LruCache<>(cacheBudget, List::size);
     }
 
     /**
@@ -62,18 +88,8 @@ public class DependencyGraphBuilder {
                 continue;
             }
 
-            List<PackageInfo> directDependencies;
-
-            // 3. Получение прямых зависимостей
-            if ("TEST".equalsIgnoreCase(workingMode)) {
-                // TEST MODE: Чтение из локального файла
-                System.out.println("   [TEST MODE] Поиск зависимостей " + currentPackage.getId() + " в файле: " + repositorySource);
-                directDependencies = getTestDependencies(currentPackage.getId(), repositorySource);
-            } else {
-                // REAL MODE: Запрос к NuGet (Этап 2)
-                System.out.println("   [REAL MODE] Запрос зависимостей " + currentPackage.getId() + " к репозиторию: " + repositorySource);
-                directDependencies = getRealDependencies(currentPackage, repositorySource);
-            }
+            // 3. Получение прямых зависимостей (сеть/файл или кэш уже загруженных пакетов)
+            List<PackageInfo> directDependencies = getDirectDependencies(currentPackage, repositorySource, workingMode);
 
             // Если зависимости не найдены, переходим к следующему элементу
             if (directDependencies.isEmpty() && currentDepth > 0) {
@@ -109,9 +125,359 @@ public class DependencyGraphBuilder {
         return root;
     }
 
+    /**
+     * Построение графа с разрешением конфликтов версий по правилам NuGet.
+     * В отличие от buildDependencyGraph, каждый пакет (по ID) попадает в граф в одной версии:
+     * - "direct dependency wins": если предок на том же пути сам напрямую зависит от пакета,
+     *   более дальняя ссылка на этот пакет отбрасывается (поддерево не загружается);
+     * - "cousin dependencies": ссылки из разных ветвей объединяются - выбирается наименьшая версия,
+     *   удовлетворяющая всем требованиям. Так как из диапазонов берется только нижняя граница,
+     *   это наибольшая из нижних границ.
+     * Правила зависят от пути, но исход раскрытия пакета определяется только набором ID,
+     * от которых напрямую зависят его предки, поэтому каждое такое состояние раскрывается один раз
+     * (иначе количество путей в графе с "ромбами" растет экспоненциально). Обход повторяется,
+     * пока выбранные версии не перестанут меняться: смена версии меняет и ее поддерево.
+     */
+    public NuGetResolution buildNuGetResolvedGraph(
+            String rootPackageId,
+            String rootPackageVersion,
+            String repositorySource,
+            Integer maxDepth,
+            String workingMode) {
+
+        System.out.println("--- Начинаем построение графа с разрешением версий NuGet ---");
+        int fetchesBefore = fetchCount.get();
+
+        // Зависимости каждой загруженной версии (в рамках построения загружаются один раз)
+        Map<String, List<PackageInfo>> dependenciesOf = new HashMap<>();
+        // Выбранная версия для каждого ID (ID без учета регистра), по результатам предыдущего прохода
+        Map<String, String> selected = new HashMap<>();
+        NuGetWalk walk = null;
+        for (int pass = 1; pass <= NUGET_MAX_PASSES; pass++) {
+            walk = walkNuGetPaths(rootPackageId, rootPackageVersion, selected, dependenciesOf,
+                    repositorySource, maxDepth, workingMode);
+            if (walk.isStable()) break;
+            System.out.println("   [NuGet] Выбранные версии изменились, повторный обход (" + (pass + 1) + ")");
+            selected = walk.requiredVersions;
+        }
+
+        List<String> warnings = new ArrayList<>();
+        if (!walk.isStable()) {
+            warnings.add("Версии не стабилизировались за " + NUGET_MAX_PASSES + " проходов, результат может быть неточным");
+        }
+
+        // Узел графа для каждого ID в выбранной версии
+        PackageInfo root = new PackageInfo(rootPackageId, rootPackageVersion);
+        Map<String, PackageInfo> nodes = new LinkedHashMap<>();
+        nodes.put(rootPackageId.toLowerCase(), root);
+        for (Map.Entry<String, String> entry : walk.requiredVersions.entrySet()) {
+            nodes.putIfAbsent(entry.getKey(), new PackageInfo(walk.displayIds.get(entry.getKey()), entry.getValue()));
+        }
+
+        // Ребра ведут к выбранным версиям (в том числе отброшенные ссылки и циклы)
+        for (NuGetWalk.Node node : walk.expanded) {
+            PackageInfo parent = nodes.get(node.id.toLowerCase());
+            for (PackageInfo dep : node.dependencies) {
+                PackageInfo target = nodes.get(dep.getId().toLowerCase());
+                if (target != null && !parent.getDependencies().contains(target)) {
+                    parent.addDependency(target);
+                    target.addReverseDependency(parent);
+                }
+            }
+        }
+
+        Set<String> prunedVersions = new TreeSet<>();
+        for (Map.Entry<String, Set<String>> entry : walk.referencedVersions.entrySet()) {
+            String chosenVersion = entry.getKey().equals(rootPackageId.toLowerCase())
+                    ? rootPackageVersion : walk.requiredVersions.get(entry.getKey());
+            Set<String> requirements = walk.cousinVersions.get(entry.getKey());
+            if (requirements != null && requirements.size() > 1) {
+                warnings.add(String.format("Конфликт версий %s: %s, выбрана %s",
+                        walk.displayIds.get(entry.getKey()), String.join(", ", requirements), chosenVersion));
+            }
+            for (String version : entry.getValue()) {
+                // Сравнение по правилам версий: "1.0" и "1.0.0" - одна и та же версия
+                if (chosenVersion == null || VersionComparator.INSTANCE.compare(version, chosenVersion) != 0) {
+                    prunedVersions.add(walk.displayIds.get(entry.getKey()) + " " + version);
+                }
+            }
+        }
+        Set<String> warnedDowngrades = new HashSet<>();
+        for (String[] eclipsed : walk.eclipsedReferences) {
+            // eclipsed: {кто ссылается, ID, требуемая версия}
+            String chosenVersion = walk.requiredVersions.get(eclipsed[1].toLowerCase());
+            if (chosenVersion != null && VersionComparator.INSTANCE.compare(eclipsed[2], chosenVersion) > 0
+                    && warnedDowngrades.add(eclipsed[0] + " " + eclipsed[1])) {
+                warnings.add(String.format("Понижение версии: %s требует %s >= %s, но выбрана %s (прямая зависимость ближе к корню)",
+                        eclipsed[0], eclipsed[1], eclipsed[2], chosenVersion));
+            }
+        }
+
+        // Все встреченные версии (плюс корень) - столько загрузок потребовал бы как минимум полный обход
+        int visitedVersions = 0;
+        for (Set<String> versions : walk.referencedVersions.values()) visitedVersions += versions.size();
+        Set<String> rootVersions = walk.referencedVersions.get(rootPackageId.toLowerCase());
+        if (rootVersions == null || !rootVersions.contains(rootPackageVersion)) visitedVersions++;
+
+        List<PackageInfo> resolved = new ArrayList<>(nodes.values());
+        resolved.remove(root);
+        System.out.println("--- Построение графа завершено. ---");
+        return new NuGetResolution(root, resolved, warnings, prunedVersions, fetchCount.get() - fetchesBefore,
+                visitedVersions);
+    }
+
+    /**
+     * Результат одного обхода для buildNuGetResolvedGraph.
+     */
+    private static class NuGetWalk {
+
+        /**
+         * Состояние обхода: пакет в выбранной версии и контекст - ID, от которых напрямую зависят
+         * его предки (и ID корня). Исход раскрытия пакета определяется только этим состоянием,
+         * поэтому пути, приходящие в одно состояние, раскрываются один раз.
+         */
+        private static class Node {
+            private final String id;
+            private final String version;
+            private final int context;
+            private final int depth;
+            private List<PackageInfo> dependencies = List.of();
+
+            Node(String id, String version, int context, int depth) {
+                this.id = id;
+                this.version = version;
+                this.context = context;
+                this.depth = depth;
+            }
+
+            String stateKey() {
+                return id.toLowerCase() + " " + version + " " + context;
+            }
+
+            @Override
+            public String toString() {
+                return id + " (" + version + ")";
+            }
+        }
+
+        private final List<Node> expanded = new ArrayList<>();
+        // Контексты (множества ID в нижнем регистре), номер контекста - индекс в списке
+        private final List<Set<String>> contexts = new ArrayList<>();
+        private final Map<Set<String>, Integer> contextIds = new HashMap<>();
+        // Требования, не отброшенные правилом прямой зависимости (ID -> версии)
+        private final Map<String, Set<String>> cousinVersions = new LinkedHashMap<>();
+        // Все встреченные версии (ID -> версии)
+        private final Map<String, Set<String>> referencedVersions = new LinkedHashMap<>();
+        // Итог прохода: наибольшая нижняя граница среди требований
+        private final Map<String, String> requiredVersions = new LinkedHashMap<>();
+        // Версии, с которыми пакеты раскрывались в этом проходе
+        private final Map<String, Set<String>> walkedVersions = new HashMap<>();
+        private final Map<String, String> displayIds = new HashMap<>();
+        private final List<String[]> eclipsedReferences = new ArrayList<>();
+
+        int internContext(Set<String> context) {
+            Integer id = contextIds.get(context);
+            if (id == null) {
+                id = contexts.size();
+                contexts.add(context);
+                contextIds.put(context, id);
+            }
+            return id;
+        }
+
+        /**
+         * Проход стабилен, если каждый пакет раскрывался ровно в той версии, которая в итоге выбрана.
+         */
+        boolean isStable() {
+            for (Map.Entry<String, Set<String>> entry : walkedVersions.entrySet()) {
+                Set<String> versions = entry.getValue();
+                if (versions.size() != 1 || !versions.contains(requiredVersions.get(entry.getKey()))) return false;
+            }
+            return true;
+        }
+    }
+
+    private NuGetWalk walkNuGetPaths(String rootPackageId, String rootPackageVersion, Map<String, String> hint,
+                                     Map<String, List<PackageInfo>> dependenciesOf, String repositorySource,
+                                     Integer maxDepth, String workingMode) {
+        NuGetWalk walk = new NuGetWalk();
+        // Версия, с которой раскрывается пакет: подсказка прошлого прохода, повышаемая новыми требованиями
+        Map<String, String> selected = new HashMap<>(hint);
+        Set<String> visitedStates = new HashSet<>();
+        Queue<NuGetWalk.Node> queue = new ArrayDeque<>();
+        // Ссылка на корень всегда считается циклом
+        int rootContext = walk.internContext(Set.of(rootPackageId.toLowerCase()));
+        queue.add(new NuGetWalk.Node(rootPackageId, rootPackageVersion, rootContext, 0));
+        boolean depthReported = false;
+
+        while (!queue.isEmpty()) {
+            NuGetWalk.Node node = queue.poll();
+            // BFS: первым приходит самый короткий путь, более длинные пути в то же состояние ничего не добавят
+            if (!visitedStates.add(node.stateKey())) continue;
+            if (maxDepth != null && node.depth >= maxDepth) {
+                if (!depthReported) {
+                    System.out.println("   [Глубина] Достигнута максимальная глубина анализа (" + maxDepth + "). Обход прерван.");
+                    depthReported = true;
+                }
+                continue;
+            }
+
+            String packageKey = node.id.toLowerCase() + " " + node.version;
+            List<PackageInfo> dependencies = dependenciesOf.get(packageKey);
+            if (dependencies == null) {
+                System.out.printf("Анализ пакета: %s (%s) (Глубина: %d)\n", node.id, node.version, node.depth);
+                dependencies = getDirectDependencies(new PackageInfo(node.id, node.version), repositorySource, workingMode);
+                dependenciesOf.put(packageKey, dependencies);
+            }
+            node.dependencies = dependencies;
+            walk.expanded.add(node);
+
+            Set<String> context = walk.contexts.get(node.context);
+            Set<String> childContext = new HashSet<>(context);
+            for (PackageInfo dep : dependencies) childContext.add(dep.getId().toLowerCase());
+            int childContextId = walk.internContext(childContext);
+
+            for (PackageInfo dep : dependencies) {
+                String id = dep.getId().toLowerCase();
+                walk.displayIds.putIfAbsent(id, dep.getId());
+                walk.referencedVersions.computeIfAbsent(id, k -> new TreeSet<>(VersionComparator.INSTANCE)).add(dep.getVersion());
+                if (context.contains(id)) {
+                    // Direct dependency wins: предок на этом же пути сам зависит от пакета
+                    // (сюда же попадают циклы - пакет на пути объявлен своим родителем)
+                    walk.eclipsedReferences.add(new String[]{node.toString(), dep.getId(), dep.getVersion()});
+                    continue;
+                }
+
+                walk.cousinVersions.computeIfAbsent(id, k -> new TreeSet<>(VersionComparator.INSTANCE)).add(dep.getVersion());
+                walk.requiredVersions.merge(id, dep.getVersion(), (current, offered) ->
+                        VersionComparator.INSTANCE.compare(offered, current) > 0 ? offered : current);
+                String version = selected.merge(id, dep.getVersion(), (current, offered) ->
+                        VersionComparator.INSTANCE.compare(offered, current) > 0 ? offered : current);
+                walk.walkedVersions.computeIfAbsent(id, k -> new TreeSet<>(VersionComparator.INSTANCE)).add(version);
+                queue.add(new NuGetWalk.Node(dep.getId(), version, childContextId, node.depth + 1));
+            }
+        }
+        return walk;
+    }
+
+    /**
+     * Возвращает прямые зависимости пакета. Результат загрузки кэшируется в рамках
+     * экземпляра builder, поэтому при нескольких построениях (например, сравнение двух
+     * версий корневого пакета) общие узлы загружаются только один раз.
+     * Возвращаются новые объекты PackageInfo, так как узлы графа изменяются при построении.
+     */
+    private List<PackageInfo> getDirectDependencies(PackageInfo pkg, String repositorySource, String workingMode) {
+        List<PackageInfo> fetched = loadDirectDependencies(pkg, repositorySource, workingMode);
+        if (fetched == null) {
+            return Collections.emptyList();
+        }
+
+        List<PackageInfo> copies = new ArrayList<>(fetched.size());
+        for (PackageInfo dep : fetched) {
+            copies.add(new PackageInfo(dep.getId(), dep.getVersion()));
+        }
+        return copies;
+    }
+
+    /**
+     * Загрузка зависимостей через кэш.
+     * @return Закэшированный список (не изменять) или null при ошибке загрузки.
+     */
+    private List<PackageInfo> loadDirectDependencies(PackageInfo pkg, String repositorySource, String workingMode) {
+        String cacheKey = cacheKey(pkg, repositorySource);
+        unusedPrefetches.remove(cacheKey);
+        List<PackageInfo> fetched = fetchedDependencies.get(cacheKey);
+
+        if (fetched != null) {
+            System.out.println("   [Кэш] Зависимости " + pkg.getId() + " уже загружены.");
+        } else {
+            if ("TEST".equalsIgnoreCase(workingMode)) {
+                // TEST MODE: Чтение из локального файла
+                System.out.println("   [TEST MODE] Поиск зависимостей " + pkg.getId() + " в файле: " + repositorySource);
+                fetched = getTestDependencies(pkg.getId(), pkg.getVersion(), repositorySource);
+            } else {
+                // REAL MODE: Запрос к NuGet (Этап 2)
+                System.out.println("   [REAL MODE] Запрос зависимостей " + pkg.getId() + " к репозиторию: " + repositorySource);
+                fetched = getRealDependencies(pkg, repositorySource);
+            }
+            if (fetched == null) {
+                // Ошибку загрузки не кэшируем, чтобы при следующем построении повторить попытку
+                return null;
+            }
+            fetchedDependencies.put(cacheKey, fetched);
+            fetchCount.incrementAndGet();
+        }
+        return fetched;
+    }
+
+    /**
+     * Ключ кэша без учета регистра: ID в .nuspec, lock-файле и снимке может различаться регистром
+     * (NuGet сравнивает ID и версии без учета регистра).
+     */
+    private static String cacheKey(PackageInfo pkg, String repositorySource) {
+        return repositorySource + "|" + pkg.getId().toLowerCase() + "_" + pkg.getVersion().toLowerCase();
+    }
+
+    /**
+     * Одновременная загрузка зависимостей заранее известных пакетов (из снимка или lock-файла)
+     * в кэш. Последующий buildDependencyGraph берет их из кэша и загружает только недостающие,
+     * поэтому вместо одного сетевого "раунда" на каждый уровень глубины нужен один общий.
+     * @param packages Пакеты для загрузки.
+     * @param concurrency Максимальное количество одновременных загрузок.
+     * @return Количество выполненных загрузок (пакеты, уже бывшие в кэше, не загружаются).
+     */
+    public int prefetch(Collection<PackageInfo> packages, String repositorySource, String workingMode, int concurrency) {
+        int fetchesBefore = fetchCount.get();
+        Semaphore permits = new Semaphore(concurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (PackageInfo pkg : packages) {
+                permits.acquireUninterruptibly();
+                executor.submit(() -> {
+                    try {
+                        // В список неиспользованных попадают только успешно загруженные пакеты
+                        if (loadDirectDependencies(pkg, repositorySource, workingMode) != null) {
+                            unusedPrefetches.add(cacheKey(pkg, repositorySource));
+                        } else {
+                            failedPrefetches.incrementAndGet();
+                        }
+                    } catch (RuntimeException e) {
+                        failedPrefetches.incrementAndGet();
+                        System.err.println("Ошибка предзагрузки " + pkg.getId() + ": " + e.getMessage());
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        return fetchCount.get() - fetchesBefore;
+    }
+
+    /**
+     * @return Количество предзагруженных пакетов, которые построение графа так и не запросило
+     * (версия в списке предзагрузки не совпала с версией из .nuspec или пакет больше не нужен).
+     */
+    public int getUnusedPrefetchCount() {
+        return unusedPrefetches.size();
+    }
+
+    /**
+     * @return Количество пакетов, которые не удалось предзагрузить (при построении они загружаются повторно).
+     */
+    public int getFailedPrefetchCount() {
+        return failedPrefetches.get();
+    }
+
+    /**
+     * @return Количество загрузок зависимостей (без учета попаданий в кэш).
+     */
+    public int getFetchCount() {
+        return fetchCount.get();
+    }
+
     /**
      * Реализация получения зависимостей для REAL MODE (Этап 2).
      * В этой реализации просто вызывается fetcher.
+     * @return Список зависимостей или null при ошибке загрузки.
      */
     private List<PackageInfo> getRealDependencies(PackageInfo pkg, String repositoryUrl) {
         // Здесь предполагается, что fetcher.fetchDirectDependenciesList() возвращает
@@ -120,7 +486,7 @@ public class DependencyGraphBuilder {
             return fetcher.fetchDirectDependenciesList(pkg.getId(), pkg.getVersion(), repositoryUrl);
         } catch (Exception e) {
             System.err.println("Ошибка при получении зависимостей для " + pkg.getId() + ": " + e.getMessage());
-            return Collections.emptyList();
+            return null;
         }
     }
 
@@ -128,13 +494,15 @@ public class DependencyGraphBuilder {
      * Реализация получения зависимостей для TEST MODE.
      * Читает зависимости из локального файла.
      * Ожидаемый формат: PACKAGE_A -> PACKAGE_B:VERSION_B, PACKAGE_C:VERSION_C
+     * Для отдельной версии пакета можно задать свою строку: PACKAGE_A:2.0.0 -> ...
+     * (она имеет приоритет над строкой без версии).
      */
-    private List<PackageInfo> getTestDependencies(String packageName, String filePath) {
-        List<PackageInfo> dependencies = new ArrayList<>();
-
+    static List<PackageInfo> getTestDependencies(String packageName, String packageVersion, String filePath) {
         try {
             List<String> lines = Files.readAllLines(Paths.get(filePath));
             String searchName = packageName.toUpperCase();
+            String searchNameWithVersion = searchName + ":" + packageVersion.toUpperCase();
+            String genericLine = null;
 
             for (String line : lines) {
                 line = line.trim();
@@ -142,40 +510,52 @@ public class DependencyGraphBuilder {
                     continue; // Пропускаем комментарии и пустые строки
                 }
 
-                // Ищем строку, начинающуюся с "A -> ..."
-                if (line.toUpperCase().startsWith(searchName + " -> ")) {
+                // Ищем строку, начинающуюся с "A:1.0.0 -> ..." или "A -> ..."
+                String upperLine = line.toUpperCase();
+                if (upperLine.startsWith(searchNameWithVersion + " -> ")) {
+                    return parseTestDependencyLine(line); // Точное совпадение версии, выходим
+                }
+                if (genericLine == null && upperLine.startsWith(searchName + " -> ")) {
+                    genericLine = line;
+                }
+            }
+            if (genericLine != null) {
+                return parseTestDependencyLine(genericLine);
+            }
+        } catch (IOException e) {
+            System.err.println("Ошибка при чтении файла тестового репозитория: " + e.getMessage());
+        }
+        return new ArrayList<>();
+    }
 
-                    // Удаляем возможные комментарии в конце строки
-                    if (line.contains("#")) {
-                        line = line.substring(0, line.indexOf("#")).trim();
-                    }
+    static List<PackageInfo> parseTestDependencyLine(String line) {
+        List<PackageInfo> dependencies = new ArrayList<>();
 
-                    String[] parts = line.split(" -> ", 2);
-                    if (parts.length == 2 && !parts[1].trim().isEmpty()) {
+        // Удаляем возможные комментарии в конце строки
+        if (line.contains("#")) {
+            line = line.substring(0, line.indexOf("#")).trim();
+        }
 
-                        // Получаем список зависимостей: "B:2.0.0, C:1.5.0"
-                        String[] depEntries = parts[1].split(",");
+        String[] parts = line.split(" -> ", 2);
+        if (parts.length == 2 && !parts[1].trim().isEmpty()) {
 
-                        for (String depEntry : depEntries) {
-                            String trimmedDepEntry = depEntry.trim();
+            // Получаем список зависимостей: "B:2.0.0, C:1.5.0"
+            String[] depEntries = parts[1].split(",");
 
-                            if (!trimmedDepEntry.isEmpty()) {
-                                // Теперь разделяем имя и версию: "B:2.0.0" -> ["B", "2.0.0"]
-                                String[] depParts = trimmedDepEntry.split(":", 2);
+            for (String depEntry : depEntries) {
+                String trimmedDepEntry = depEntry.trim();
 
-                                String depId = depParts[0].trim();
-                                String depVersion = depParts.length > 1 ? depParts[1].trim() : "1.0.0"; // Версия по умолчанию, если не указана
+                if (!trimmedDepEntry.isEmpty()) {
+                    // Теперь разделяем имя и версию: "B:2.0.0" -> ["B", "2.0.0"]
+                    String[] depParts = trimmedDepEntry.split(":", 2);
 
-                                dependencies.add(new PackageInfo(depId, depVersion));
-                            }
-                        }
-                    }
-                    break; // Нашли зависимости для нужного пакета, выходим
+                    String depId = depParts[0].trim();
+                    String depVersion = depParts.length > 1 ? depParts[1].trim() : "1.0.0"; // Версия по умолчанию, если не указана
+
+                    dependencies.add(new PackageInfo(depId, depVersion));
                 }
             }
-        } catch (IOException e) {
-            System.err.println("Ошибка при чтении файла тестового репозитория: " + e.getMessage());
         }
         return dependencies;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,410 @@
+package by.Alexeiop;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Сравнение двух графов зависимостей (например, двух версий корневого пакета).
+ * Вычисляет добавленные, удаленные пакеты и ребра, а также пакеты со сменой версии.
+ * Пакеты обоих графов получают общие номера, ребра кодируются числами long
+ * и сравниваются слиянием отсортированных массивов, без создания объекта на каждое ребро.
+ */
+public class DependencyGraphDiff {
+
+    /**
+     * Статус узла в объединенном графе сравнения.
+     */
+    public enum ChangeType {
+        ADDED,           // Пакета с таким ID не было в старом графе
+        REMOVED,         // Пакета с таким ID нет в новом графе
+        VERSION_ADDED,   // Новая версия пакета, который был в старом графе
+        VERSION_REMOVED, // Старая версия пакета, который остался в новом графе
+        UNCHANGED
+    }
+
+    /**
+     * Ребро графа: from -> to.
+     */
+    public static class Edge {
+        private final PackageInfo from;
+        private final PackageInfo to;
+
+        public Edge(PackageInfo from, PackageInfo to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        public PackageInfo getFrom() {
+            return from;
+        }
+
+        public PackageInfo getTo() {
+            return to;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Edge that = (Edge) o;
+            return from.equals(that.from) && to.equals(that.to);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(from, to);
+        }
+
+        @Override
+        public String toString() {
+            return from + " -> " + to;
+        }
+    }
+
+    /**
+     * Смена версий пакета: набор версий в старом и новом графе.
+     */
+    public static class VersionChange {
+        private final String id;
+        private final Set<String> oldVersions;
+        private final Set<String> newVersions;
+
+        public VersionChange(String id, Set<String> oldVersions, Set<String> newVersions) {
+            this.id = id;
+            this.oldVersions = oldVersions;
+            this.newVersions = newVersions;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public Set<String> getOldVersions() {
+            return oldVersions;
+        }
+
+        public Set<String> getNewVersions() {
+            return newVersions;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %s -> %s", id, String.join(", ", oldVersions), String.join(", ", newVersions));
+        }
+    }
+
+    // Пакеты объединенного графа: сначала узлы нового графа, затем узлы, которые есть только в старом
+    private final List<PackageInfo> packages = new ArrayList<>();
+    // Номер пакета по ключу "id version" без учета регистра (ID и версии NuGet нечувствительны к регистру)
+    private final Map<String, Integer> packageIds = new HashMap<>();
+    private final BitSet inOld = new BitSet();
+    private final BitSet inNew = new BitSet();
+    // Ребра закодированы как (номер_from << 32 | номер_to), массивы отсортированы и без повторов
+    private final long[] oldEdgeKeys;
+    private final long[] newEdgeKeys;
+    private final Set<String> changedIds = new HashSet<>();
+    private final List<PackageInfo> addedPackages = new ArrayList<>();
+    private final List<PackageInfo> removedPackages = new ArrayList<>();
+    private final List<VersionChange> versionChanges = new ArrayList<>();
+    private final List<Edge> addedEdges = new ArrayList<>();
+    private final List<Edge> removedEdges = new ArrayList<>();
+    private final long elapsedNanos;
+
+    private DependencyGraphDiff(PackageInfo oldRoot, PackageInfo newRoot) {
+        long start = System.nanoTime();
+
+        // 1. Один обход каждого графа: номера пакетов и закодированные ребра
+        newEdgeKeys = traverse(newRoot, inNew);
+        oldEdgeKeys = traverse(oldRoot, inOld);
+
+        // 2. Пакеты, которые есть в обоих графах, не изменились. Остальные - добавлены,
+        // удалены или являются другой версией пакета с тем же ID (ID NuGet нечувствительны к регистру)
+        Set<String> oldIds = collectIds(inOld);
+        Set<String> newIds = collectIds(inNew);
+        for (int id = 0; id < packages.size(); id++) {
+            if (inOld.get(id) && inNew.get(id)) continue;
+            PackageInfo pkg = packages.get(id);
+            String normalizedId = normalizeId(pkg.getId());
+            if (inNew.get(id)) {
+                if (oldIds.contains(normalizedId)) changedIds.add(normalizedId);
+                else addedPackages.add(pkg);
+            } else {
+                if (newIds.contains(normalizedId)) changedIds.add(normalizedId);
+                else removedPackages.add(pkg);
+            }
+        }
+
+        // 3. Наборы версий собираются только для пакетов со сменой версии
+        if (!changedIds.isEmpty()) {
+            Map<String, VersionChange> changes = new LinkedHashMap<>();
+            for (int id = 0; id < packages.size(); id++) {
+                PackageInfo pkg = packages.get(id);
+                String normalizedId = normalizeId(pkg.getId());
+                if (!changedIds.contains(normalizedId)) continue;
+                VersionChange change = changes.computeIfAbsent(normalizedId,
+                        k -> new VersionChange(pkg.getId(), new TreeSet<>(), new TreeSet<>()));
+                if (inOld.get(id)) change.getOldVersions().add(pkg.getVersion());
+                if (inNew.get(id)) change.getNewVersions().add(pkg.getVersion());
+            }
+            versionChanges.addAll(changes.values());
+        }
+
+        // 4. Ребра: слияние двух отсортированных массивов
+        int i = 0;
+        int j = 0;
+        while (i < oldEdgeKeys.length || j < newEdgeKeys.length) {
+            if (j == newEdgeKeys.length || (i < oldEdgeKeys.length && oldEdgeKeys[i] < newEdgeKeys[j])) {
+                removedEdges.add(toEdge(oldEdgeKeys[i++]));
+            } else if (i == oldEdgeKeys.length || newEdgeKeys[j] < oldEdgeKeys[i]) {
+                addedEdges.add(toEdge(newEdgeKeys[j++]));
+            } else {
+                i++;
+                j++;
+            }
+        }
+
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * Сравнивает два графа.
+     * @param oldRoot Корень старого графа.
+     * @param newRoot Корень нового графа.
+     */
+    public static DependencyGraphDiff compute(PackageInfo oldRoot, PackageInfo newRoot) {
+        return new DependencyGraphDiff(oldRoot, newRoot);
+    }
+
+    // --- Геттеры ---
+
+    public List<PackageInfo> getAddedPackages() {
+        return addedPackages;
+    }
+
+    public List<PackageInfo> getRemovedPackages() {
+        return removedPackages;
+    }
+
+    public List<VersionChange> getVersionChanges() {
+        return versionChanges;
+    }
+
+    public List<Edge> getAddedEdges() {
+        return addedEdges;
+    }
+
+    public List<Edge> getRemovedEdges() {
+        return removedEdges;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * @return Все пакеты объединенного графа (сначала новый граф, затем удаленные узлы старого).
+     */
+    public List<PackageInfo> getAllPackages() {
+        return packages;
+    }
+
+    /**
+     * @return Все ребра объединенного графа.
+     */
+    public List<Edge> getAllEdges() {
+        List<Edge> all = new ArrayList<>(newEdgeKeys.length + removedEdges.size());
+        for (long key : newEdgeKeys) {
+            all.add(toEdge(key));
+        }
+        all.addAll(removedEdges);
+        return all;
+    }
+
+    public ChangeType getChangeType(PackageInfo pkg) {
+        Integer id = packageIds.get(packageKey(pkg));
+        if (id == null) return ChangeType.UNCHANGED;
+        if (inOld.get(id) && inNew.get(id)) return ChangeType.UNCHANGED;
+        boolean versionChanged = changedIds.contains(normalizeId(pkg.getId()));
+        if (inNew.get(id)) return versionChanged ? ChangeType.VERSION_ADDED : ChangeType.ADDED;
+        return versionChanged ? ChangeType.VERSION_REMOVED : ChangeType.REMOVED;
+    }
+
+    public ChangeType getChangeType(Edge edge) {
+        Integer from = packageIds.get(packageKey(edge.getFrom()));
+        Integer to = packageIds.get(packageKey(edge.getTo()));
+        if (from == null || to == null) return ChangeType.UNCHANGED;
+        long key = edgeKey(from, to);
+        boolean isInOld = Arrays.binarySearch(oldEdgeKeys, key) >= 0;
+        boolean isInNew = Arrays.binarySearch(newEdgeKeys, key) >= 0;
+        if (isInOld && isInNew) return ChangeType.UNCHANGED;
+        return isInNew ? ChangeType.ADDED : ChangeType.REMOVED;
+    }
+
+    // --- Вывод ---
+
+    public void printReport(PrintStream out) {
+        out.println("\n*** Сравнение графов зависимостей ***");
+        out.printf("Пакетов: %d -> %d, ребер: %d -> %d%n",
+                inOld.cardinality(), inNew.cardinality(), oldEdgeKeys.length, newEdgeKeys.length);
+        printSection(out, "Добавленные пакеты", addedPackages, "+ ");
+        printSection(out, "Удаленные пакеты", removedPackages, "- ");
+        printSection(out, "Смена версий", versionChanges, "~ ");
+        printSection(out, "Добавленные ребра", addedEdges, "+ ");
+        printSection(out, "Удаленные ребра", removedEdges, "- ");
+        out.println("Время сравнения: " + getElapsedMillis() + " мс");
+    }
+
+    private void printSection(PrintStream out, String title, Collection<?> items, String marker) {
+        out.println(title + " (" + items.size() + "):");
+        for (Object item : items) {
+            out.println("  " + marker + item);
+        }
+    }
+
+    /**
+     * Сохраняет результат сравнения в JSON-файл.
+     */
+    public void saveJson(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("{\n");
+            writer.write("  \"addedPackages\": " + packagesToJson(addedPackages) + ",\n");
+            writer.write("  \"removedPackages\": " + packagesToJson(removedPackages) + ",\n");
+            writer.write("  \"versionChanges\": [");
+            for (int i = 0; i < versionChanges.size(); i++) {
+                VersionChange change = versionChanges.get(i);
+                writer.write(i == 0 ? "\n" : ",\n");
+                writer.write("    {\"id\": " + Json.quote(change.getId())
+                        + ", \"oldVersions\": " + stringsToJson(change.getOldVersions())
+                        + ", \"newVersions\": " + stringsToJson(change.getNewVersions()) + "}");
+            }
+            writer.write(versionChanges.isEmpty() ? "],\n" : "\n  ],\n");
+            writer.write("  \"addedEdges\": " + edgesToJson(addedEdges) + ",\n");
+            writer.write("  \"removedEdges\": " + edgesToJson(removedEdges) + "\n");
+            writer.write("}\n");
+        }
+        System.out.println("✅ Результат сравнения сохранен в JSON: " + file);
+    }
+
+    private String packagesToJson(List<PackageInfo> packages) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < packages.size(); i++) {
+            builder.append(i == 0 ? "\n    " : ",\n    ").append(packageToJson(packages.get(i)));
+        }
+        return builder.append(packages.isEmpty() ? "]" : "\n  ]").toString();
+    }
+
+    private String edgesToJson(List<Edge> edges) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < edges.size(); i++) {
+            Edge edge = edges.get(i);
+            builder.append(i == 0 ? "\n    " : ",\n    ")
+                    .append("{\"from\": ").append(packageToJson(edge.getFrom()))
+                    .append(", \"to\": ").append(packageToJson(edge.getTo())).append("}");
+        }
+        return builder.append(edges.isEmpty() ? "]" : "\n  ]").toString();
+    }
+
+    private String packageToJson(PackageInfo pkg) {
+        return "{\"id\": " + Json.quote(pkg.getId()) + ", \"version\": " + Json.quote(pkg.getVersion()) + "}";
+    }
+
+    private String stringsToJson(Set<String> values) {
+        StringBuilder builder = new StringBuilder("[");
+        for (String value : values) {
+            if (builder.length() > 1) builder.append(", ");
+            builder.append(Json.quote(value));
+        }
+        return builder.append("]").toString();
+    }
+
+    // --- Вспомогательные методы ---
+
+    /**
+     * Обход графа в ширину: присваивает пакетам номера в объединенном графе,
+     * отмечает их в present и возвращает отсортированные ключи ребер без повторов.
+     */
+    private long[] traverse(PackageInfo root, BitSet present) {
+        long[] keys = new long[1024];
+        int edgeCount = 0;
+        // Очередь хранит узлы именно этого графа: равный пакет другого графа имеет другие ребра
+        List<PackageInfo> queue = new ArrayList<>();
+        int[] queueIds = new int[1024];
+
+        int rootId = packageIdOf(root);
+        present.set(rootId);
+        queue.add(root);
+        queueIds[0] = rootId;
+
+        for (int head = 0; head < queue.size(); head++) {
+            int current = queueIds[head];
+            for (PackageInfo dep : queue.get(head).getDependencies()) {
+                int depId = packageIdOf(dep);
+                if (edgeCount == keys.length) keys = Arrays.copyOf(keys, keys.length * 2);
+                keys[edgeCount++] = edgeKey(current, depId);
+                if (!present.get(depId)) {
+                    present.set(depId);
+                    if (queue.size() == queueIds.length) queueIds = Arrays.copyOf(queueIds, queueIds.length * 2);
+                    queueIds[queue.size()] = depId;
+                    queue.add(dep);
+                }
+            }
+        }
+
+        Arrays.sort(keys, 0, edgeCount);
+        // Удаление повторяющихся ребер (одна зависимость в нескольких группах nuspec)
+        int distinct = 0;
+        for (int i = 0; i < edgeCount; i++) {
+            if (i == 0 || keys[i] != keys[i - 1]) keys[distinct++] = keys[i];
+        }
+        return Arrays.copyOf(keys, distinct);
+    }
+
+    private int packageIdOf(PackageInfo pkg) {
+        Integer id = packageIds.putIfAbsent(packageKey(pkg), packages.size());
+        if (id == null) {
+            packages.add(pkg);
+            return packages.size() - 1;
+        }
+        return id;
+    }
+
+    private Set<String> collectIds(BitSet present) {
+        Set<String> ids = new HashSet<>();
+        for (int id = present.nextSetBit(0); id >= 0; id = present.nextSetBit(id + 1)) {
+            ids.add(normalizeId(packages.get(id).getId()));
+        }
+        return ids;
+    }
+
+    private static long edgeKey(int from, int to) {
+        return ((long) from << 32) | (to & 0xFFFFFFFFL);
+    }
+
+    private Edge toEdge(long key) {
+        return new Edge(packages.get((int) (key >>> 32)), packages.get((int) key));
+    }
+
+    private static String normalizeId(String id) {
+        return id.toLowerCase(Locale.ROOT);
+    }
+
+    private static String packageKey(PackageInfo pkg) {
+        return normalizeId(pkg.getId()) + " " + pkg.getVersion().toLowerCase(Locale.ROOT);
+    }
+}
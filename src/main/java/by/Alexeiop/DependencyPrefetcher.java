@@ -0,0 +1,81 @@
+package by.Alexeiop;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Предзагрузка замыкания пакета по уже известному списку (ID, VERSION):
+ * из снимка графа (GraphSnapshot) или из packages.lock.json.
+ * Все известные пакеты загружаются одновременно, после чего BFS в DependencyGraphBuilder
+ * только подтверждает граф и догружает отсутствующие пакеты.
+ */
+public class DependencyPrefetcher {
+
+    // Запись пакета в packages.lock.json: "Имя": { "type": "...", ..., "resolved": "1.2.3", ... }
+    // [^{}] не дает выйти за пределы записи (вложенные "dependencies" идут после "resolved")
+    private static final Pattern LOCK_FILE_ENTRY = Pattern.compile(
+            "\"([^\"]+)\"\\s*:\\s*\\{\\s*\"type\"\\s*:\\s*\"[^\"]*\"[^{}]*?\"resolved\"\\s*:\\s*\"([^\"]+)\"");
+
+    private final DependencyGraphBuilder graphBuilder;
+
+    public DependencyPrefetcher(DependencyGraphBuilder graphBuilder) {
+        this.graphBuilder = graphBuilder;
+    }
+
+    /**
+     * Читает список пакетов: файлы *.json разбираются как packages.lock.json, остальные - как снимок графа.
+     */
+    public List<PackageInfo> readKnownPackages(Path file) throws IOException {
+        if (file.getFileName().toString().toLowerCase().endsWith(".json")) {
+            return readLockFile(file);
+        }
+        GraphIndex graph = GraphIndex.build(new GraphSnapshot().load(file));
+        List<PackageInfo> packages = new ArrayList<>(graph.size());
+        for (int node = 0; node < graph.size(); node++) {
+            PackageInfo pkg = graph.node(node);
+            packages.add(new PackageInfo(pkg.getId(), pkg.getVersion()));
+        }
+        return packages;
+    }
+
+    /**
+     * Извлекает пары (ID, resolved) из packages.lock.json для всех целевых фреймворков.
+     * Как и в DependencyFetcher, используется простой разбор строки без JSON-библиотеки.
+     */
+    public List<PackageInfo> readLockFile(Path file) throws IOException {
+        Set<PackageInfo> packages = new LinkedHashSet<>();
+        Matcher matcher = LOCK_FILE_ENTRY.matcher(Files.readString(file));
+        while (matcher.find()) {
+            packages.add(new PackageInfo(matcher.group(1), matcher.group(2)));
+        }
+        return new ArrayList<>(packages);
+    }
+
+    /**
+     * Загружает в кэш builder все известные пакеты одной волной.
+     * Граф затем строится обычным образом тем же builder.
+     * @param knownPackagesFile Снимок графа или packages.lock.json.
+     * @param concurrency Максимальное количество одновременных загрузок.
+     * @return Количество загруженных пакетов.
+     */
+    public int prefetch(Path knownPackagesFile, int concurrency, String rootPackageId, String rootPackageVersion,
+                        String repositorySource, String workingMode) throws IOException {
+        // Корень загружается в той же волне, даже если его нет в lock-файле
+        Set<PackageInfo> knownPackages = new LinkedHashSet<>();
+        knownPackages.add(new PackageInfo(rootPackageId, rootPackageVersion));
+        knownPackages.addAll(readKnownPackages(knownPackagesFile));
+
+        System.out.println("--- Предзагрузка " + knownPackages.size() + " известных пакетов (одновременно: " + concurrency + ") ---");
+        long start = System.nanoTime();
+        int prefetched = graphBuilder.prefetch(knownPackages, repositorySource, workingMode, concurrency);
+        System.out.printf("Предзагружено пакетов: %d за одну волну (%d мс)%n", prefetched, (System.nanoTime() - start) / 1_000_000);
+        return prefetched;
+    }
+}
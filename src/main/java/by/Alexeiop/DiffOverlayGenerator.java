@@ -0,0 +1,135 @@
+package by.Alexeiop;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Генерирует цветную схему сравнения двух графов в форматах DOT и Mermaid.
+ * Зеленый - добавлено, красный - удалено, оранжевый - смена версии, серый - без изменений.
+ */
+public class DiffOverlayGenerator {
+
+    /**
+     * Сохраняет DOT-файл со схемой сравнения (например, 'diff.png' -> 'diff.diff.dot').
+     */
+    public void generateAndSaveDotFile(DependencyGraphDiff diff, String outputFileName) {
+        String dotFileName = GraphExporter.baseName(outputFileName) + ".diff.dot";
+        try {
+            Files.writeString(Path.of(dotFileName), buildDotCode(diff));
+            System.out.println("✅ Создан DOT-файл сравнения: " + dotFileName);
+        } catch (IOException e) {
+            System.err.println("Ошибка при сохранении DOT-файла сравнения: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Сохраняет Mermaid-файл со схемой сравнения (например, 'diff.png' -> 'diff.diff.mermaid').
+     */
+    public void generateAndSaveMermaidFile(DependencyGraphDiff diff, String outputFileName) {
+        String mermaidFileName = GraphExporter.baseName(outputFileName) + ".diff.mermaid";
+        try {
+            Files.writeString(Path.of(mermaidFileName), buildMermaidCode(diff));
+            System.out.println("✅ Сгенерирован Mermaid-файл сравнения: " + mermaidFileName);
+        } catch (IOException e) {
+            System.err.println("Ошибка при сохранении Mermaid-файла сравнения: " + e.getMessage());
+        }
+    }
+
+    private String buildDotCode(DependencyGraphDiff diff) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("digraph DependencyDiff {\n");
+        builder.append("    rankdir=TB;\n");
+        builder.append("    node [shape=box, style=\"filled,rounded\", color=\"#333333\", fontname=\"Helvetica\"];\n\n");
+
+        for (PackageInfo pkg : diff.getAllPackages()) {
+            DependencyGraphDiff.ChangeType type = diff.getChangeType(pkg);
+            String style = type == DependencyGraphDiff.ChangeType.REMOVED || type == DependencyGraphDiff.ChangeType.VERSION_REMOVED
+                    ? ", style=\"filled,rounded,dashed\"" : "";
+            builder.append(String.format("    \"%s\" [label=\"%s\\n(%s)\", fillcolor=\"%s\"%s];\n",
+                    nodeKey(pkg), escapeDot(pkg.getId()), escapeDot(pkg.getVersion()), fillColor(type), style));
+        }
+        builder.append("\n");
+        for (DependencyGraphDiff.Edge edge : diff.getAllEdges()) {
+            DependencyGraphDiff.ChangeType type = diff.getChangeType(edge);
+            String style = type == DependencyGraphDiff.ChangeType.REMOVED ? ", style=dashed" : "";
+            builder.append(String.format("    \"%s\" -> \"%s\" [color=\"%s\"%s];\n",
+                    nodeKey(edge.getFrom()), nodeKey(edge.getTo()), edgeColor(type), style));
+        }
+        builder.append("}\n");
+        return builder.toString();
+    }
+
+    private String buildMermaidCode(DependencyGraphDiff diff) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("graph TD\n");
+        builder.append("    classDef default fill:#EBEBEB,stroke:#333,stroke-width:1px;\n");
+        builder.append("    classDef added fill:#B7E4B0,stroke:#2E7D32;\n");
+        builder.append("    classDef removed fill:#F4B6B6,stroke:#C62828,stroke-dasharray:5 5;\n");
+        builder.append("    classDef versionAdded fill:#FFD8A8,stroke:#E65100;\n");
+        builder.append("    classDef versionRemoved fill:#FFF0DC,stroke:#E65100,stroke-dasharray:5 5;\n");
+
+        for (PackageInfo pkg : diff.getAllPackages()) {
+            String className = mermaidClass(diff.getChangeType(pkg));
+            builder.append(String.format("    %s[\"%s\\n(%s)\"]%s\n", getNodeMermaidId(pkg), pkg.getId(), pkg.getVersion(),
+                    className == null ? "" : ":::" + className));
+        }
+
+        int edgeIndex = 0;
+        StringBuilder linkStyles = new StringBuilder();
+        for (DependencyGraphDiff.Edge edge : diff.getAllEdges()) {
+            DependencyGraphDiff.ChangeType type = diff.getChangeType(edge);
+            builder.append(String.format("    %s %s %s\n", getNodeMermaidId(edge.getFrom()),
+                    type == DependencyGraphDiff.ChangeType.REMOVED ? "-.->" : "-->", getNodeMermaidId(edge.getTo())));
+            if (type != DependencyGraphDiff.ChangeType.UNCHANGED) {
+                linkStyles.append(String.format("    linkStyle %d stroke:%s;\n", edgeIndex, edgeColor(type)));
+            }
+            edgeIndex++;
+        }
+        builder.append(linkStyles);
+        return builder.toString();
+    }
+
+    private String fillColor(DependencyGraphDiff.ChangeType type) {
+        switch (type) {
+            case ADDED: return "#B7E4B0";
+            case REMOVED: return "#F4B6B6";
+            case VERSION_ADDED: return "#FFD8A8";
+            case VERSION_REMOVED: return "#FFF0DC";
+            default: return "#EBEBEB";
+        }
+    }
+
+    private String edgeColor(DependencyGraphDiff.ChangeType type) {
+        switch (type) {
+            case ADDED: return "#2E7D32";
+            case REMOVED: return "#C62828";
+            default: return "#888888";
+        }
+    }
+
+    private String mermaidClass(DependencyGraphDiff.ChangeType type) {
+        switch (type) {
+            case ADDED: return "added";
+            case REMOVED: return "removed";
+            case VERSION_ADDED: return "versionAdded";
+            case VERSION_REMOVED: return "versionRemoved";
+            default: return null;
+        }
+    }
+
+    private String nodeKey(PackageInfo pkg) {
+        return escapeDot(pkg.getId() + " " + pkg.getVersion());
+    }
+
+    private String escapeDot(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Тот же формат ID, что и в MermaidGenerator.
+     */
+    private String getNodeMermaidId(PackageInfo pkg) {
+        return "N" + Math.abs(pkg.hashCode());
+    }
+}
@@ -0,0 +1,178 @@
+package by.Alexeiop;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Граф зависимостей, записанный на диск режимом ограниченной памяти (BoundedMemoryResolver):
+ * - файл узлов: строка "ID\tVERSION" на узел, номер узла = номер строки (корень - 0);
+ * - файл ребер: пары int (откуда, куда) в порядке обхода, ребра одного узла идут подряд.
+ * Анализ и визуализация читают файлы потоково, не загружая граф в кучу.
+ */
+public class DiskGraph {
+
+    private static final int TOP_SIZE = 10;
+
+    private final Path nodesFile;
+    private final Path edgesFile;
+    private final int nodeCount;
+    private final long edgeCount;
+
+    public DiskGraph(Path nodesFile, Path edgesFile, int nodeCount, long edgeCount) {
+        this.nodesFile = nodesFile;
+        this.edgesFile = edgesFile;
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+    }
+
+    public Path getNodesFile() {
+        return nodesFile;
+    }
+
+    public Path getEdgesFile() {
+        return edgesFile;
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Потоковая генерация DOT-файла (узлы - по файлу узлов, ребра - по файлу ребер).
+     * Для графов из миллионов узлов Graphviz не вызывается: файл предназначен для других инструментов.
+     */
+    public void renderDot(Path dotFile) {
+        try (BufferedReader nodes = Files.newBufferedReader(nodesFile);
+             DataInputStream edges = openEdges();
+             BufferedWriter writer = Files.newBufferedWriter(dotFile)) {
+            writer.write("digraph DependencyGraph {\n");
+            writer.write("    rankdir=TB; // Граф сверху вниз\n");
+            writer.write("    node [shape=box, style=\"filled,rounded\", color=\"#333333\", fillcolor=\"#EBEBEB\", fontname=\"Helvetica\"];\n");
+            writer.write("    edge [color=\"#888888\"];\n\n");
+
+            String line;
+            int node = 0;
+            while ((line = nodes.readLine()) != null) {
+                String[] parts = line.split("\t", 2);
+                writer.write("    n" + node++ + " [label=\"" + escapeDot(parts[0]) + "\\n" + escapeDot(parts[1]) + "\"];\n");
+            }
+            writer.write('\n');
+            for (long e = 0; e < edgeCount; e++) {
+                writer.write("    n" + edges.readInt() + " -> n" + edges.readInt() + ";\n");
+            }
+            writer.write("}\n");
+            System.out.println("✅ Создан DOT-файл: " + dotFile);
+        } catch (IOException e) {
+            System.err.println("Ошибка при генерации DOT-файла: " + e.getMessage());
+        }
+    }
+
+    private static String escapeDot(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Рейтинги входящей и исходящей степени за один проход по файлу ребер.
+     * Исходящая степень считается по длине серии ребер узла, входящая - в счетчиках,
+     * отображенных в память (по 4 байта на узел в каталоге spillDirectory).
+     */
+    public void printDegreeReport(PrintStream out, Path spillDirectory) {
+        PriorityQueue<Long> topIn = new PriorityQueue<>();
+        PriorityQueue<Long> topOut = new PriorityQueue<>();
+        try (MappedFile inDegree = new MappedFile(spillDirectory.resolve("in-degree.bin"));
+             DataInputStream edges = openEdges()) {
+            int currentSource = -1;
+            int outDegree = 0;
+            for (long e = 0; e < edgeCount; e++) {
+                int from = edges.readInt();
+                int to = edges.readInt();
+                if (from != currentSource) {
+                    if (currentSource >= 0) offerTop(topOut, currentSource, outDegree);
+                    currentSource = from;
+                    outDegree = 0;
+                }
+                outDegree++;
+                inDegree.putInt(to * 4L, inDegree.getInt(to * 4L) + 1);
+            }
+            if (currentSource >= 0) offerTop(topOut, currentSource, outDegree);
+            for (int node = 0; node < nodeCount; node++) {
+                offerTop(topIn, node, inDegree.getInt(node * 4L));
+            }
+            inDegree.delete();
+        } catch (IOException e) {
+            System.err.println("Ошибка при анализе файла ребер: " + e.getMessage());
+            return;
+        }
+
+        long[] inRanking = drainTop(topIn);
+        long[] outRanking = drainTop(topOut);
+        Map<Integer, String> names = readNames(inRanking, outRanking);
+
+        out.println("\n*** Анализ графа на диске (степени узлов) ***");
+        out.printf("Узлов: %d, ребер: %d%n", nodeCount, edgeCount);
+        out.println("Чаще всего используются (входящая степень):");
+        for (long entry : inRanking) {
+            out.printf("- %s: %d%n", names.get((int) entry), entry >>> 32);
+        }
+        out.println("Больше всего прямых зависимостей (исходящая степень):");
+        for (long entry : outRanking) {
+            out.printf("- %s: %d%n", names.get((int) entry), entry >>> 32);
+        }
+    }
+
+    // Элемент рейтинга: степень в старших 32 битах, номер узла - в младших
+    private static void offerTop(PriorityQueue<Long> top, int node, int degree) {
+        long entry = ((long) degree << 32) | node;
+        if (top.size() < TOP_SIZE) {
+            top.add(entry);
+        } else if (entry > top.peek()) {
+            top.poll();
+            top.add(entry);
+        }
+    }
+
+    private static long[] drainTop(PriorityQueue<Long> top) {
+        long[] result = new long[top.size()];
+        for (int i = result.length - 1; i >= 0; i--) result[i] = top.poll();
+        return result;
+    }
+
+    /**
+     * Читает имена только для узлов из рейтингов (второй проход по файлу узлов).
+     */
+    private Map<Integer, String> readNames(long[]... rankings) {
+        Map<Integer, String> names = new HashMap<>();
+        for (long[] ranking : rankings) {
+            for (long entry : ranking) names.put((int) entry, null);
+        }
+        try (BufferedReader nodes = Files.newBufferedReader(nodesFile)) {
+            String line;
+            for (int node = 0; (line = nodes.readLine()) != null; node++) {
+                if (names.containsKey(node)) {
+                    String[] parts = line.split("\t", 2);
+                    names.put(node, parts[0] + " (" + parts[1] + ")");
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Ошибка при чтении файла узлов: " + e.getMessage());
+        }
+        return names;
+    }
+
+    private DataInputStream openEdges() throws IOException {
+        return new DataInputStream(new BufferedInputStream(Files.newInputStream(edgesFile), 1 << 16));
+    }
+}
@@ -0,0 +1,542 @@
+package by.Alexeiop;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * Числовой анализ графа зависимостей:
+ * - входящая/исходящая степень (сколько пакетов зависят от данного и от скольких зависит он сам);
+ * - эксклюзивное замыкание: пакеты, которые исчезнут из графа вместе с данным узлом
+ *   (размер поддерева в дереве доминаторов, алгоритм Купера-Харви-Кеннеди);
+ * - общее замыкание: все транзитивные зависимости узла;
+ * - приближенная посредническая центральность (алгоритм Брандеса по выборке опорных узлов).
+ * Независимые обходы (замыкания, опорные узлы) выполняются параллельно в ForkJoinPool.
+ */
+public class GraphAnalytics {
+
+    // Количество опорных узлов для оценки центральности (для меньших графов считается точно)
+    private static final int DEFAULT_BETWEENNESS_PIVOTS = 64;
+    // До этого размера общее замыкание считается для всех узлов, иначе только для прямых зависимостей корня
+    private static final int SHARED_CLOSURE_ALL_NODES_LIMIT = 5_000;
+    // Размер рейтингов в отчете и JSON
+    private static final int TOP_SIZE = 10;
+    // Минимальный объем работы одной задачи fork/join
+    private static final int CLOSURE_TASK_NODES = 16;
+
+    /**
+     * Результат анализа.
+     */
+    public static class Result {
+        private final GraphIndex graph;
+        private final int[] inDegree;
+        private final int[] immediateDominator;
+        private final int[] exclusiveClosure;
+        private final int[] sharedClosure;
+        private final double[] betweenness;
+        private final int pivotCount;
+        private final long elapsedNanos;
+
+        private Result(GraphIndex graph, int[] inDegree, int[] immediateDominator, int[] exclusiveClosure,
+                       int[] sharedClosure, double[] betweenness, int pivotCount, long elapsedNanos) {
+            this.graph = graph;
+            this.inDegree = inDegree;
+            this.immediateDominator = immediateDominator;
+            this.exclusiveClosure = exclusiveClosure;
+            this.sharedClosure = sharedClosure;
+            this.betweenness = betweenness;
+            this.pivotCount = pivotCount;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public GraphIndex getGraph() {
+            return graph;
+        }
+
+        public int getInDegree(int node) {
+            return inDegree[node];
+        }
+
+        public int getOutDegree(int node) {
+            return graph.edgeEnd(node) - graph.edgeStart(node);
+        }
+
+        /**
+         * @return Индекс непосредственного доминатора (для корня -1).
+         */
+        public int getImmediateDominator(int node) {
+            return immediateDominator[node];
+        }
+
+        /**
+         * @return Количество пакетов, достижимых только через данный узел (без него самого).
+         */
+        public int getExclusiveClosure(int node) {
+            return exclusiveClosure[node];
+        }
+
+        /**
+         * @return Количество всех транзитивных зависимостей узла или -1, если не вычислялось.
+         */
+        public int getSharedClosure(int node) {
+            return sharedClosure[node];
+        }
+
+        public double getBetweenness(int node) {
+            return betweenness[node];
+        }
+
+        /**
+         * @return true, если центральность посчитана по всем узлам, а не по выборке.
+         */
+        public boolean isBetweennessExact() {
+            return pivotCount == graph.size();
+        }
+
+        public long getElapsedMillis() {
+            return elapsedNanos / 1_000_000;
+        }
+
+        public int[] topByInDegree() {
+            int[] values = inDegree;
+            return top(node -> values[node]);
+        }
+
+        public int[] topByOutDegree() {
+            return top(this::getOutDegree);
+        }
+
+        public int[] topByExclusiveClosure() {
+            int[] values = exclusiveClosure;
+            return top(node -> values[node]);
+        }
+
+        public int[] topByBetweenness() {
+            double[] values = betweenness;
+            return top(node -> values[node]);
+        }
+
+        /**
+         * Выбирает TOP_SIZE узлов с наибольшим значением (куча фиксированного размера, O(n log k)).
+         */
+        private int[] top(IntToDoubleFunction value) {
+            PriorityQueue<Integer> heap = new PriorityQueue<>(TOP_SIZE + 1,
+                    (a, b) -> Double.compare(value.applyAsDouble(a), value.applyAsDouble(b)));
+            for (int node = 0; node < graph.size(); node++) {
+                if (heap.size() < TOP_SIZE) {
+                    heap.add(node);
+                } else if (value.applyAsDouble(node) > value.applyAsDouble(heap.peek())) {
+                    heap.poll();
+                    heap.add(node);
+                }
+            }
+            int[] result = new int[heap.size()];
+            for (int i = result.length - 1; i >= 0; i--) result[i] = heap.poll();
+            return result;
+        }
+
+        public void printReport(PrintStream out) {
+            out.println("\n*** Аналитика графа зависимостей ***");
+            out.printf("Узлов: %d, ребер: %d%n", graph.size(), graph.edgeCount());
+
+            out.println("Чаще всего используются (входящая степень):");
+            for (int node : topByInDegree()) {
+                out.printf("- %s: %d%n", graph.node(node), getInDegree(node));
+            }
+            out.println("Больше всего прямых зависимостей (исходящая степень):");
+            for (int node : topByOutDegree()) {
+                out.printf("- %s: %d%n", graph.node(node), getOutDegree(node));
+            }
+
+            // Для прямых зависимостей корня общее замыкание вычисляется всегда
+            out.println("Прямые зависимости корня (эксклюзивное / общее замыкание):");
+            for (int e = graph.edgeStart(0); e < graph.edgeEnd(0); e++) {
+                int node = graph.target(e);
+                out.printf("- %s: %d / %d%n", graph.node(node), getExclusiveClosure(node), getSharedClosure(node));
+            }
+            out.println("Наибольшее эксклюзивное замыкание (без учета корня):");
+            for (int node : topByExclusiveClosure()) {
+                if (node == 0) continue;
+                out.printf("- %s: %d (доминатор: %s)%n", graph.node(node), getExclusiveClosure(node),
+                        graph.node(getImmediateDominator(node)));
+            }
+            out.println("Посредническая центральность ("
+                    + (isBetweennessExact() ? "точно" : "оценка по " + pivotCount + " опорным узлам") + "):");
+            for (int node : topByBetweenness()) {
+                out.printf(Locale.ROOT, "- %s: %.1f%n", graph.node(node), getBetweenness(node));
+            }
+            out.println("Время анализа: " + getElapsedMillis() + " мс");
+        }
+
+        /**
+         * Сохраняет рейтинги и метрики всех узлов в JSON (потоковая запись).
+         */
+        public void saveJson(Path file) throws IOException {
+            try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+                writer.write("{\n");
+                writer.write("  \"nodes\": " + graph.size() + ",\n");
+                writer.write("  \"edges\": " + graph.edgeCount() + ",\n");
+                writer.write("  \"betweennessPivots\": " + pivotCount + ",\n");
+                writer.write("  \"betweennessExact\": " + isBetweennessExact() + ",\n");
+                writeRanking(writer, "topInDegree", topByInDegree(), this::getInDegree);
+                writeRanking(writer, "topOutDegree", topByOutDegree(), this::getOutDegree);
+                writeRanking(writer, "topExclusiveClosure", topByExclusiveClosure(), this::getExclusiveClosure);
+                writeRanking(writer, "topBetweenness", topByBetweenness(), this::getBetweenness);
+                writer.write("  \"packages\": [");
+                for (int node = 0; node < graph.size(); node++) {
+                    writer.write(node == 0 ? "\n    {" : ",\n    {");
+                    writePackage(writer, node);
+                    writer.write(", \"inDegree\": " + getInDegree(node));
+                    writer.write(", \"outDegree\": " + getOutDegree(node));
+                    writer.write(", \"exclusiveClosure\": " + getExclusiveClosure(node));
+                    writer.write(", \"sharedClosure\": " + (getSharedClosure(node) < 0 ? "null" : getSharedClosure(node)));
+                    writer.write(String.format(Locale.ROOT, ", \"betweenness\": %.3f", getBetweenness(node)));
+                    if (node != 0) {
+                        PackageInfo dominator = graph.node(getImmediateDominator(node));
+                        writer.write(", \"immediateDominator\": \"");
+                        Json.writeEscaped(writer, dominator.getId());
+                        writer.write(':');
+                        Json.writeEscaped(writer, dominator.getVersion());
+                        writer.write('"');
+                    }
+                    writer.write('}');
+                }
+                writer.write("\n  ]\n}\n");
+            }
+            System.out.println("✅ Аналитика графа сохранена в JSON: " + file);
+        }
+
+        private void writeRanking(Writer writer, String name, int[] nodes, IntToDoubleFunction value) throws IOException {
+            writer.write("  \"" + name + "\": [");
+            for (int i = 0; i < nodes.length; i++) {
+                writer.write(i == 0 ? "\n    {" : ",\n    {");
+                writePackage(writer, nodes[i]);
+                writer.write(String.format(Locale.ROOT, ", \"value\": %.3f}", value.applyAsDouble(nodes[i])));
+            }
+            writer.write(nodes.length == 0 ? "],\n" : "\n  ],\n");
+        }
+
+        private void writePackage(Writer writer, int node) throws IOException {
+            writer.write("\"id\": \"");
+            Json.writeEscaped(writer, graph.node(node).getId());
+            writer.write("\", \"version\": \"");
+            Json.writeEscaped(writer, graph.node(node).getVersion());
+            writer.write('"');
+        }
+    }
+
+    private final int betweennessPivots;
+
+    public GraphAnalytics() {
+        this(DEFAULT_BETWEENNESS_PIVOTS);
+    }
+
+    /**
+     * @param betweennessPivots Количество опорных узлов для оценки центральности.
+     */
+    public GraphAnalytics(int betweennessPivots) {
+        this.betweennessPivots = betweennessPivots;
+    }
+
+    public Result analyze(PackageInfo root) {
+        return analyze(GraphIndex.build(root));
+    }
+
+    public Result analyze(GraphIndex graph) {
+        long start = System.nanoTime();
+        int n = graph.size();
+
+        // 1. Обратные ребра (CSR) и входящие степени - сортировка подсчетом
+        int[] reverseOffsets = new int[n + 1];
+        for (int e = 0; e < graph.edgeCount(); e++) reverseOffsets[graph.target(e) + 1]++;
+        int[] inDegree = new int[n];
+        for (int v = 0; v < n; v++) {
+            inDegree[v] = reverseOffsets[v + 1];
+            reverseOffsets[v + 1] += reverseOffsets[v];
+        }
+        int[] sources = new int[graph.edgeCount()];
+        int[] fill = Arrays.copyOf(reverseOffsets, n);
+        for (int v = 0; v < n; v++) {
+            for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                sources[fill[graph.target(e)]++] = v;
+            }
+        }
+
+        // 2. Дерево доминаторов и эксклюзивные замыкания
+        int[] immediateDominator = new int[n];
+        int[] exclusiveClosure = computeDominators(graph, reverseOffsets, sources, immediateDominator);
+
+        // 3. Общие замыкания (независимые обходы - параллельно)
+        int[] sharedClosure = new int[n];
+        Arrays.fill(sharedClosure, -1);
+        int[] closureNodes;
+        if (n <= SHARED_CLOSURE_ALL_NODES_LIMIT) {
+            closureNodes = new int[n];
+            for (int v = 0; v < n; v++) closureNodes[v] = v;
+        } else {
+            closureNodes = new int[graph.edgeEnd(0) - graph.edgeStart(0)];
+            for (int e = graph.edgeStart(0); e < graph.edgeEnd(0); e++) closureNodes[e - graph.edgeStart(0)] = graph.target(e);
+        }
+        new ClosureTask(graph, closureNodes, 0, closureNodes.length, sharedClosure).invoke();
+
+        // 4. Посредническая центральность (Брандес) по выборке опорных узлов
+        int[] pivots = choosePivots(n);
+        double[] betweenness = new BetweennessTask(graph, pivots, 0, pivots.length).invoke();
+        if (pivots.length < n) {
+            double scale = (double) n / pivots.length;
+            for (int v = 0; v < n; v++) betweenness[v] *= scale;
+        }
+
+        return new Result(graph, inDegree, immediateDominator, exclusiveClosure, sharedClosure,
+                betweenness, pivots.length, System.nanoTime() - start);
+    }
+
+    /**
+     * Итеративный алгоритм Купера-Харви-Кеннеди ("A Simple, Fast Dominance Algorithm").
+     * Узлы нумеруются в обратном постпорядке DFS, поэтому доминатор всегда имеет меньший номер.
+     * @return Размер эксклюзивного замыкания каждого узла (поддерево доминаторов без самого узла).
+     */
+    private int[] computeDominators(GraphIndex graph, int[] reverseOffsets, int[] sources, int[] immediateDominator) {
+        int n = graph.size();
+
+        // Обратный постпорядок итеративным DFS от корня
+        int[] order = new int[n];       // номер в обратном постпорядке -> узел
+        int[] orderOf = new int[n];     // узел -> номер
+        int[] nextEdge = new int[n];
+        int[] callStack = new int[n];
+        boolean[] visited = new boolean[n];
+        int position = n;
+        int callTop = 0;
+        callStack[callTop++] = 0;
+        visited[0] = true;
+        nextEdge[0] = graph.edgeStart(0);
+        while (callTop > 0) {
+            int v = callStack[callTop - 1];
+            if (nextEdge[v] < graph.edgeEnd(v)) {
+                int w = graph.target(nextEdge[v]++);
+                if (!visited[w]) {
+                    visited[w] = true;
+                    nextEdge[w] = graph.edgeStart(w);
+                    callStack[callTop++] = w;
+                }
+            } else {
+                callTop--;
+                order[--position] = v;
+            }
+        }
+        for (int i = 0; i < n; i++) orderOf[order[i]] = i;
+
+        // Итерации до неподвижной точки (обычно 2-3 прохода)
+        int[] dominator = new int[n]; // в номерах обратного постпорядка
+        Arrays.fill(dominator, -1);
+        dominator[0] = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int b = 1; b < n; b++) {
+                int v = order[b];
+                int newDominator = -1;
+                for (int e = reverseOffsets[v]; e < reverseOffsets[v + 1]; e++) {
+                    int p = orderOf[sources[e]];
+                    if (dominator[p] == -1) continue;
+                    newDominator = newDominator == -1 ? p : intersect(dominator, p, newDominator);
+                }
+                if (dominator[b] != newDominator) {
+                    dominator[b] = newDominator;
+                    changed = true;
+                }
+            }
+        }
+
+        // Размеры поддеревьев: потомки идут в обратном постпорядке после доминатора
+        int[] subtree = new int[n];
+        Arrays.fill(subtree, 1);
+        for (int b = n - 1; b > 0; b--) subtree[dominator[b]] += subtree[b];
+
+        int[] exclusiveClosure = new int[n];
+        for (int b = 0; b < n; b++) {
+            int v = order[b];
+            immediateDominator[v] = b == 0 ? -1 : order[dominator[b]];
+            exclusiveClosure[v] = subtree[b] - 1;
+        }
+        return exclusiveClosure;
+    }
+
+    private int intersect(int[] dominator, int a, int b) {
+        while (a != b) {
+            while (a > b) a = dominator[a];
+            while (b > a) b = dominator[b];
+        }
+        return a;
+    }
+
+    /**
+     * Детерминированная выборка опорных узлов (при небольшом графе - все узлы).
+     */
+    private int[] choosePivots(int n) {
+        if (n <= betweennessPivots) {
+            int[] all = new int[n];
+            for (int v = 0; v < n; v++) all[v] = v;
+            return all;
+        }
+        Random random = new Random(42);
+        boolean[] chosen = new boolean[n];
+        int[] pivots = new int[betweennessPivots];
+        for (int i = 0; i < pivots.length; ) {
+            int v = random.nextInt(n);
+            if (!chosen[v]) {
+                chosen[v] = true;
+                pivots[i++] = v;
+            }
+        }
+        return pivots;
+    }
+
+    /**
+     * Размер общего замыкания (BFS) для диапазона узлов; диапазон делится пополам до CLOSURE_TASK_NODES.
+     * Задачи fork/join (эта и BetweennessTask) сериализуемы только формально и никогда не сериализуются.
+     */
+    @SuppressWarnings("serial")
+    private static class ClosureTask extends RecursiveAction {
+        private final GraphIndex graph;
+        private final int[] nodes;
+        private final int from;
+        private final int to;
+        private final int[] sharedClosure;
+
+        ClosureTask(GraphIndex graph, int[] nodes, int from, int to, int[] sharedClosure) {
+            this.graph = graph;
+            this.nodes = nodes;
+            this.from = from;
+            this.to = to;
+            this.sharedClosure = sharedClosure;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CLOSURE_TASK_NODES) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ClosureTask(graph, nodes, from, middle, sharedClosure),
+                        new ClosureTask(graph, nodes, middle, to, sharedClosure));
+                return;
+            }
+            // Метки посещения с номером обхода: массив не очищается между обходами
+            int[] mark = new int[graph.size()];
+            int[] queue = new int[graph.size()];
+            for (int i = from; i < to; i++) {
+                int source = nodes[i];
+                int stamp = i - from + 1;
+                int head = 0;
+                int tail = 0;
+                queue[tail++] = source;
+                mark[source] = stamp;
+                while (head < tail) {
+                    int v = queue[head++];
+                    for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                        int w = graph.target(e);
+                        if (mark[w] != stamp) {
+                            mark[w] = stamp;
+                            queue[tail++] = w;
+                        }
+                    }
+                }
+                sharedClosure[source] = tail - 1;
+            }
+        }
+    }
+
+    /**
+     * Вклад диапазона опорных узлов в посредническую центральность (ориентированный граф без весов).
+     */
+    @SuppressWarnings("serial")
+    private static class BetweennessTask extends RecursiveTask<double[]> {
+        private final GraphIndex graph;
+        private final int[] pivots;
+        private final int from;
+        private final int to;
+
+        BetweennessTask(GraphIndex graph, int[] pivots, int from, int to) {
+            this.graph = graph;
+            this.pivots = pivots;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute() {
+            // Каждая задача держит свои массивы размера n, поэтому делим не мельче, чем на число потоков
+            int minPivots = Math.max(1, pivots.length / (4 * ForkJoinPool.getCommonPoolParallelism()));
+            if (to - from > minPivots) {
+                int middle = (from + to) >>> 1;
+                BetweennessTask left = new BetweennessTask(graph, pivots, from, middle);
+                left.fork();
+                double[] result = new BetweennessTask(graph, pivots, middle, to).compute();
+                double[] other = left.join();
+                for (int v = 0; v < result.length; v++) result[v] += other[v];
+                return result;
+            }
+
+            int n = graph.size();
+            double[] centrality = new double[n];
+            double[] sigma = new double[n];
+            double[] ratio = new double[n];
+            int[] distance = new int[n];
+            int[] queue = new int[n];
+            Arrays.fill(distance, -1);
+            for (int i = from; i < to; i++) {
+                int s = pivots[i];
+                int head = 0;
+                int tail = 0;
+                queue[tail++] = s;
+                distance[s] = 0;
+                sigma[s] = 1;
+                // BFS: число кратчайших путей от s
+                while (head < tail) {
+                    int v = queue[head++];
+                    for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                        int w = graph.target(e);
+                        if (distance[w] < 0) {
+                            distance[w] = distance[v] + 1;
+                            queue[tail++] = w;
+                        }
+                        if (distance[w] == distance[v] + 1) sigma[w] += sigma[v];
+                    }
+                }
+                // Накопление зависимостей в порядке убывания расстояния. Узел сам собирает вклад своих
+                // преемников по прямым ребрам: чтение соседей вместо разрозненной записи в предшественников.
+                // ratio[w] = (1 + delta[w]) / sigma[w] - единственное, что нужно знать о преемнике
+                for (int j = tail - 1; j > 0; j--) {
+                    int v = queue[j];
+                    int nextDistance = distance[v] + 1;
+                    double sum = 0;
+                    for (int e = graph.edgeStart(v); e < graph.edgeEnd(v); e++) {
+                        int w = graph.target(e);
+                        if (distance[w] == nextDistance) sum += ratio[w];
+                    }
+                    double dependency = sigma[v] * sum;
+                    centrality[v] += dependency;
+                    ratio[v] = (1 + dependency) / sigma[v];
+                }
+                // Сброс только посещенных узлов
+                for (int j = 0; j < tail; j++) {
+                    int v = queue[j];
+                    distance[v] = -1;
+                    sigma[v] = 0;
+                    ratio[v] = 0;
+                }
+            }
+            return centrality;
+        }
+    }
+}
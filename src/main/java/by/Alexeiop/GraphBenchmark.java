@@ -0,0 +1,241 @@
+package by.Alexeiop;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Замеры производительности анализов на синтетических графах.
+ * Для prefetch используйте небольшой граф (например, 300 узлов): загрузка идет через локальную
+ * заглушку репозитория с задержкой PREFETCH_DELAY_MS на каждый запрос.
+ * Для disk запускайте JVM с маленькой кучей (например, -Xmx64m): замер выводит пиковый
+ * анонимный RSS процесса (куча и прочая память JVM) отдельно от страниц отображенных файлов.
+ * Запуск: java -cp ConfUpravlen2-1.jar by.Alexeiop.GraphBenchmark [cycles|analytics|diff|export|prefetch|disk] 1000000 3
+ */
+public class GraphBenchmark {
+
+    private static final long PREFETCH_DELAY_MS = 20;
+    private static final int PREFETCH_CONCURRENCY = 32;
+
+    public static void main(String[] args) {
+        String benchmark = args.length > 0 ? args[0] : "cycles";
+        int nodeCount = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int averageDegree = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        // Граф для режима ограниченной памяти генерируется сразу в файл, минуя кучу
+        if ("disk".equals(benchmark)) {
+            benchmarkDisk(nodeCount, averageDegree);
+            return;
+        }
+
+        System.out.printf("Генерация графа: %d узлов, средняя степень %d...%n", nodeCount, averageDegree);
+        long start = System.nanoTime();
+        PackageInfo root = new SyntheticGraphGenerator(42).generate(nodeCount, averageDegree, 0.01);
+        GraphIndex graph = GraphIndex.build(root);
+        System.out.printf("Граф построен за %d мс (ребер: %d)%n", (System.nanoTime() - start) / 1_000_000, graph.edgeCount());
+
+        switch (benchmark) {
+            case "cycles": benchmarkCycles(graph); break;
+            case "analytics": benchmarkAnalytics(graph); break;
+            case "diff": benchmarkDiff(root, nodeCount, averageDegree); break;
+            case "export": benchmarkExport(root); break;
+            case "prefetch": benchmarkPrefetch(root); break;
+            default: System.err.println("Неизвестный замер: " + benchmark);
+        }
+    }
+
+    private static void benchmarkDiff(PackageInfo oldRoot, int nodeCount, int averageDegree) {
+        // Второй граф с теми же пакетами, но другими ребрами
+        PackageInfo newRoot = new SyntheticGraphGenerator(43).generate(nodeCount, averageDegree, 0.01);
+        for (int i = 0; i < 3; i++) DependencyGraphDiff.compute(oldRoot, newRoot);
+        DependencyGraphDiff diff = DependencyGraphDiff.compute(oldRoot, newRoot);
+        System.out.printf("Добавлено ребер: %d, удалено ребер: %d%n", diff.getAddedEdges().size(), diff.getRemovedEdges().size());
+        System.out.println("Время сравнения: " + diff.getElapsedMillis() + " мс");
+    }
+
+    private static void benchmarkExport(PackageInfo root) {
+        try {
+            Path directory = Files.createTempDirectory("graph-export");
+            String baseName = directory.resolve("graph").toString();
+            for (String formats : new String[]{"jsonl", "graphml", "csv", "jsonl,graphml,csv"}) {
+                List<GraphExporter> exporters = new ArrayList<>();
+                for (String format : GraphExporter.parseFormats(formats)) exporters.add(GraphExporter.forFormat(format, baseName));
+                long start = System.nanoTime();
+                long edgeCount;
+                try {
+                    edgeCount = new GraphExportTraversal().export(root, exporters);
+                } finally {
+                    for (GraphExporter exporter : exporters) exporter.close();
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                long bytes = 0;
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                    for (Path file : files) {
+                        bytes += Files.size(file);
+                        Files.delete(file);
+                    }
+                }
+                System.out.printf(Locale.ROOT, "%-18s %6d мс, %.0f тыс. ребер/с, %.1f МБ/с%n",
+                        formats, (long) (seconds * 1000), edgeCount / seconds / 1000, bytes / seconds / (1 << 20));
+            }
+            Files.delete(directory);
+        } catch (IOException e) {
+            System.err.println("Ошибка замера экспорта: " + e.getMessage());
+        }
+    }
+
+    private static void benchmarkPrefetch(PackageInfo root) {
+        LocalNuGetFeedStub feed = null;
+        try {
+            // Синтетический граф записывается в файл тестового репозитория для заглушки
+            Path directory = Files.createTempDirectory("graph-prefetch");
+            Path repositoryFile = directory.resolve("repository.txt");
+            Path snapshotFile = directory.resolve("snapshot.txt");
+            GraphIndex graph = GraphIndex.build(root);
+            try (BufferedWriter writer = Files.newBufferedWriter(repositoryFile)) {
+                for (int node = 0; node < graph.size(); node++) {
+                    if (graph.edgeStart(node) == graph.edgeEnd(node)) continue;
+                    StringBuilder line = new StringBuilder(graph.node(node).getId()).append(" -> ");
+                    for (int e = graph.edgeStart(node); e < graph.edgeEnd(node); e++) {
+                        PackageInfo dep = graph.node(graph.target(e));
+                        if (e > graph.edgeStart(node)) line.append(", ");
+                        line.append(dep.getId()).append(':').append(dep.getVersion());
+                    }
+                    writer.write(line.toString());
+                    writer.newLine();
+                }
+            }
+            feed = new LocalNuGetFeedStub(repositoryFile.toString(), PREFETCH_DELAY_MS);
+            feed.start();
+
+            // 1. Холодный запуск: BFS загружает пакеты уровень за уровнем
+            long start = System.nanoTime();
+            DependencyGraphBuilder coldBuilder = new DependencyGraphBuilder(new DependencyFetcher());
+            PackageInfo coldRoot = coldBuilder.buildDependencyGraph(root.getId(), root.getVersion(), feed.getServiceIndexUrl(), null, "REAL");
+            long coldMillis = (System.nanoTime() - start) / 1_000_000;
+            new GraphSnapshot().save(coldRoot, snapshotFile);
+
+            // 2. Предзагрузка по снимку одной волной, затем BFS по кэшу
+            start = System.nanoTime();
+            DependencyGraphBuilder warmBuilder = new DependencyGraphBuilder(new DependencyFetcher());
+            int prefetched = new DependencyPrefetcher(warmBuilder).prefetch(snapshotFile, PREFETCH_CONCURRENCY,
+                    root.getId(), root.getVersion(), feed.getServiceIndexUrl(), "REAL");
+            warmBuilder.buildDependencyGraph(root.getId(), root.getVersion(), feed.getServiceIndexUrl(), null, "REAL");
+            long warmMillis = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("%nЗадержка заглушки: %d мс на запрос, узлов: %d%n", PREFETCH_DELAY_MS, graph.size());
+            System.out.printf("Без предзагрузки: %d мс (загрузок: %d)%n", coldMillis, coldBuilder.getFetchCount());
+            System.out.printf("С предзагрузкой:  %d мс (предзагружено: %d, догружено: %d)%n",
+                    warmMillis, prefetched, warmBuilder.getFetchCount() - prefetched);
+
+            Files.delete(repositoryFile);
+            Files.delete(snapshotFile);
+            Files.delete(directory);
+        } catch (IOException e) {
+            System.err.println("Ошибка замера предзагрузки: " + e.getMessage());
+        } finally {
+            if (feed != null) feed.stop();
+        }
+    }
+
+    private static void benchmarkCycles(GraphIndex graph) {
+        CycleAnalyzer analyzer = new CycleAnalyzer();
+        // Прогрев JIT
+        for (int i = 0; i < 3; i++) analyzer.analyze(graph);
+        CycleAnalyzer.Result result = analyzer.analyze(graph);
+        System.out.printf("Компонент: %d, циклов: %d, критический путь: %d%n",
+                result.getComponentCount(), result.getCycles().size(), result.getCriticalPathLength());
+        System.out.println("Время анализа циклов: " + result.getElapsedMillis() + " мс");
+    }
+
+    private static void benchmarkAnalytics(GraphIndex graph) {
+        GraphAnalytics analytics = new GraphAnalytics();
+        // Прогрев JIT
+        analytics.analyze(graph);
+        GraphAnalytics.Result result = analytics.analyze(graph);
+        int[] top = result.topByInDegree();
+        System.out.printf("Потоков fork/join: %d, самый используемый пакет: %s (%d)%n",
+                ForkJoinPool.getCommonPoolParallelism(), graph.node(top[0]), result.getInDegree(top[0]));
+        System.out.println("Время аналитики: " + result.getElapsedMillis() + " мс");
+    }
+
+    private static void benchmarkDisk(int nodeCount, int averageDegree) {
+        Path directory = null;
+        try {
+            directory = Files.createTempDirectory("graph-disk");
+            Path repositoryFile = directory.resolve("repository.txt");
+            long start = System.nanoTime();
+            long edges = new SyntheticGraphGenerator(42).writeTestRepository(repositoryFile, nodeCount, averageDegree, 0.01);
+            System.out.printf("Тестовый репозиторий: %d узлов, %d ребер, %d МБ за %d мс%n", nodeCount, edges,
+                    Files.size(repositoryFile) >> 20, (System.nanoTime() - start) / 1_000_000);
+
+            // Фоновый замер пикового RSS из /proc/self/status
+            long[] peakAnonymousKb = new long[1];
+            Thread sampler = new Thread(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    peakAnonymousKb[0] = Math.max(peakAnonymousKb[0], readStatusKb("RssAnon:"));
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+            sampler.setDaemon(true);
+            sampler.start();
+
+            Path spill = Files.createDirectory(directory.resolve("spill"));
+            start = System.nanoTime();
+            DiskGraph graph = new BoundedMemoryResolver(new DependencyFetcher(), spill).resolve(
+                    "P0", "1.0.0", repositoryFile.toString(), null, "TEST", directory.resolve("graph").toString());
+            long resolveMillis = (System.nanoTime() - start) / 1_000_000;
+            start = System.nanoTime();
+            graph.printDegreeReport(System.out, spill);
+            graph.renderDot(directory.resolve("graph.dot"));
+            long streamMillis = (System.nanoTime() - start) / 1_000_000;
+            sampler.interrupt();
+            sampler.join();
+
+            System.out.printf("%nПостроение: %d мс (%d узлов, %d ребер), анализ и DOT: %d мс%n",
+                    resolveMillis, graph.getNodeCount(), graph.getEdgeCount(), streamMillis);
+            System.out.printf("Пиковый анонимный RSS: %d МБ, VmHWM (с учетом страниц файлов): %d МБ, -Xmx: %d МБ%n",
+                    peakAnonymousKb[0] >> 10, readStatusKb("VmHWM:") >> 10, Runtime.getRuntime().maxMemory() >> 20);
+        } catch (IOException | InterruptedException e) {
+            System.err.println("Ошибка замера режима ограниченной памяти: " + e.getMessage());
+        } finally {
+            if (directory != null) deleteRecursively(directory);
+        }
+    }
+
+    private static long readStatusKb(String field) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+                if (line.startsWith(field)) {
+                    return Long.parseLong(line.substring(field.length()).trim().split("\\s+")[0]);
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // /proc недоступен (не Linux) - замер RSS пропускается
+        }
+        return 0;
+    }
+
+    private static void deleteRecursively(Path path) {
+        try {
+            if (Files.isDirectory(path)) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(path)) {
+                    for (Path file : files) deleteRecursively(file);
+                }
+            }
+            Files.delete(path);
+        } catch (IOException e) {
+            System.err.println("Не удалось удалить " + path + ": " + e.getMessage());
+        }
+    }
+}
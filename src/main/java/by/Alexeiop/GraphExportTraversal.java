@@ -0,0 +1,43 @@
+package by.Alexeiop;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Один обход графа в ширину, передающий каждый узел и ребро сразу всем экспортерам.
+ * Несколько форматов записываются за один проход; сам экспорт не накапливает данных,
+ * дополнительная память - только множество посещенных узлов и очередь обхода.
+ */
+public class GraphExportTraversal {
+
+    /**
+     * @return Количество записанных ребер.
+     */
+    public long export(PackageInfo root, List<GraphExporter> exporters) throws IOException {
+        for (GraphExporter exporter : exporters) exporter.beginGraph(root);
+
+        Set<PackageInfo> visited = new HashSet<>();
+        Queue<PackageInfo> queue = new ArrayDeque<>();
+        visited.add(root);
+        queue.add(root);
+        long edgeCount = 0;
+
+        while (!queue.isEmpty()) {
+            PackageInfo current = queue.poll();
+            for (GraphExporter exporter : exporters) exporter.node(current);
+
+            for (PackageInfo dep : current.getDependencies()) {
+                for (GraphExporter exporter : exporters) exporter.edge(current, dep);
+                edgeCount++;
+                if (visited.add(dep)) queue.add(dep);
+            }
+        }
+
+        for (GraphExporter exporter : exporters) exporter.endGraph();
+        return edgeCount;
+    }
+}
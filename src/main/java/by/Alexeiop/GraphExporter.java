@@ -0,0 +1,89 @@
+package by.Alexeiop;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Потоковый экспорт графа зависимостей в машиночитаемый формат.
+ * Экспортер получает узлы и ребра по одному во время обхода графа
+ * (см. GraphExportTraversal) и сразу пишет их в файл, не накапливая документ в памяти.
+ */
+public interface GraphExporter extends Closeable {
+
+    // Размер буфера записи (символов)
+    int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Вызывается один раз перед обходом.
+     */
+    void beginGraph(PackageInfo root) throws IOException;
+
+    void node(PackageInfo pkg) throws IOException;
+
+    void edge(PackageInfo from, PackageInfo to) throws IOException;
+
+    /**
+     * Вызывается один раз после обхода, до close().
+     */
+    void endGraph() throws IOException;
+
+    /**
+     * Создает экспортер по имени формата.
+     * @param format "jsonl", "graphml" или "csv".
+     * @param baseName Имя выходного файла без расширения.
+     */
+    static GraphExporter forFormat(String format, String baseName) throws IOException {
+        switch (format.trim().toLowerCase()) {
+            case "jsonl": return new JsonLinesExporter(Path.of(baseName + ".jsonl"));
+            case "graphml": return new GraphMlExporter(Path.of(baseName + ".graphml"));
+            case "csv": return new CsvExporter(Path.of(baseName + ".nodes.csv"), Path.of(baseName + ".edges.csv"));
+            default: throw new IllegalArgumentException("Неизвестный формат экспорта: " + format + " (ожидается jsonl, graphml или csv)");
+        }
+    }
+
+    /**
+     * Разбирает список форматов через запятую. Повторы убираются: два экспортера одного формата
+     * открыли бы одни и те же файлы и испортили их.
+     */
+    static Set<String> parseFormats(String formats) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String format : formats.split(",")) {
+            result.add(format.trim().toLowerCase());
+        }
+        return result;
+    }
+
+    /**
+     * Имя выходного файла без расширения ('graph.png' -> 'graph'), от которого строятся имена
+     * сопутствующих файлов (экспорт, аналитика, сравнение).
+     */
+    static String baseName(String outputFileName) {
+        int dot = outputFileName.lastIndexOf('.');
+        return dot >= 0 ? outputFileName.substring(0, dot) : outputFileName;
+    }
+
+    /**
+     * Открывает файл на запись через FileChannel с буферизацией.
+     */
+    static Writer openWriter(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        return new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Ключ узла, используемый в ссылках ребер: "ID:VERSION".
+     */
+    static String nodeKey(PackageInfo pkg) {
+        return pkg.getId() + ":" + pkg.getVersion();
+    }
+}
@@ -0,0 +1,99 @@
+package by.Alexeiop;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Компактное индексированное представление графа зависимостей.
+ * Узлы нумеруются в порядке BFS от корня (корень всегда имеет индекс 0),
+ * ребра хранятся в виде массивов CSR (offsets/targets), чтобы анализы
+ * могли работать с примитивными массивами без рекурсии.
+ */
+public class GraphIndex {
+
+    private final PackageInfo[] nodes;
+    private final Map<PackageInfo, Integer> indexByPackage;
+    private final int[] offsets; // offsets[i]..offsets[i+1] - диапазон ребер узла i в targets
+    private final int[] targets;
+
+    private GraphIndex(PackageInfo[] nodes, Map<PackageInfo, Integer> indexByPackage, int[] offsets, int[] targets) {
+        this.nodes = nodes;
+        this.indexByPackage = indexByPackage;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    /**
+     * Строит индекс по всем пакетам, достижимым из корня (итеративный BFS).
+     * @param root Корневой пакет графа.
+     */
+    public static GraphIndex build(PackageInfo root) {
+        List<PackageInfo> order = new ArrayList<>();
+        Map<PackageInfo, Integer> indexByPackage = new HashMap<>();
+        order.add(root);
+        indexByPackage.put(root, 0);
+
+        long edgeCount = 0;
+        for (int head = 0; head < order.size(); head++) {
+            for (PackageInfo dep : order.get(head).getDependencies()) {
+                edgeCount++;
+                if (!indexByPackage.containsKey(dep)) {
+                    indexByPackage.put(dep, order.size());
+                    order.add(dep);
+                }
+            }
+        }
+        if (edgeCount > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Слишком много ребер для индексации: " + edgeCount);
+        }
+
+        int[] offsets = new int[order.size() + 1];
+        int[] targets = new int[(int) edgeCount];
+        int position = 0;
+        for (int i = 0; i < order.size(); i++) {
+            offsets[i] = position;
+            for (PackageInfo dep : order.get(i).getDependencies()) {
+                targets[position++] = indexByPackage.get(dep);
+            }
+        }
+        offsets[order.size()] = position;
+
+        return new GraphIndex(order.toArray(new PackageInfo[0]), indexByPackage, offsets, targets);
+    }
+
+    // --- Геттеры ---
+
+    public int size() {
+        return nodes.length;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    public PackageInfo node(int index) {
+        return nodes[index];
+    }
+
+    /**
+     * @return Индекс пакета или -1, если пакет не достижим из корня.
+     */
+    public int indexOf(PackageInfo pkg) {
+        Integer index = indexByPackage.get(pkg);
+        return index == null ? -1 : index;
+    }
+
+    public int edgeStart(int node) {
+        return offsets[node];
+    }
+
+    public int edgeEnd(int node) {
+        return offsets[node + 1];
+    }
+
+    public int target(int edge) {
+        return targets[edge];
+    }
+}
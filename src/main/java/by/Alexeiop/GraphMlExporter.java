@@ -0,0 +1,78 @@
+package by.Alexeiop;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+
+/**
+ * Экспорт в формат GraphML (XML), который понимают yEd, Gephi, NetworkX и др.
+ * Узлы и ребра пишутся в порядке обхода: GraphML допускает их чередование внутри graph.
+ */
+public class GraphMlExporter implements GraphExporter {
+
+    private final Writer writer;
+
+    public GraphMlExporter(Path file) throws IOException {
+        this.writer = GraphExporter.openWriter(file);
+    }
+
+    @Override
+    public void beginGraph(PackageInfo root) throws IOException {
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+        writer.write("<graphml xmlns=\"http://graphml.graphdrawing.org/xmlns\">\n");
+        writer.write("  <key id=\"id\" for=\"node\" attr.name=\"id\" attr.type=\"string\"/>\n");
+        writer.write("  <key id=\"version\" for=\"node\" attr.name=\"version\" attr.type=\"string\"/>\n");
+        writer.write("  <graph id=\"DependencyGraph\" edgedefault=\"directed\">\n");
+    }
+
+    @Override
+    public void node(PackageInfo pkg) throws IOException {
+        writer.write("    <node id=\"");
+        writeKey(pkg);
+        writer.write("\"><data key=\"id\">");
+        writeEscaped(pkg.getId());
+        writer.write("</data><data key=\"version\">");
+        writeEscaped(pkg.getVersion());
+        writer.write("</data></node>\n");
+    }
+
+    @Override
+    public void edge(PackageInfo from, PackageInfo to) throws IOException {
+        writer.write("    <edge source=\"");
+        writeKey(from);
+        writer.write("\" target=\"");
+        writeKey(to);
+        writer.write("\"/>\n");
+    }
+
+    @Override
+    public void endGraph() throws IOException {
+        writer.write("  </graph>\n");
+        writer.write("</graphml>\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeKey(PackageInfo pkg) throws IOException {
+        writeEscaped(pkg.getId());
+        writer.write(':');
+        writeEscaped(pkg.getVersion());
+    }
+
+    /**
+     * Экранирование XML; строки без спецсимволов пишутся без копирования.
+     */
+    private void writeEscaped(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '&' || c == '<' || c == '>' || c == '"') {
+                writer.write(value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;"));
+                return;
+            }
+        }
+        writer.write(value);
+    }
+}
@@ -0,0 +1,97 @@
+package by.Alexeiop;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Сохранение и загрузка снимка построенного графа зависимостей.
+ * Формат похож на файл тестового репозитория, но указывает версии у обеих сторон ребра:
+ * <pre>
+ * ROOT A:1.0.0
+ * A:1.0.0 -> B:2.0.0, C:1.5.0
+ * </pre>
+ */
+public class GraphSnapshot {
+
+    private static final String ROOT_PREFIX = "ROOT ";
+
+    /**
+     * Сохраняет граф, достижимый из корня, в файл.
+     */
+    public void save(PackageInfo root, Path file) throws IOException {
+        GraphIndex graph = GraphIndex.build(root);
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("# Снимок графа зависимостей");
+            writer.newLine();
+            writer.write(ROOT_PREFIX + toKey(root));
+            writer.newLine();
+            for (int node = 0; node < graph.size(); node++) {
+                writer.write(toKey(graph.node(node)));
+                writer.write(" ->");
+                for (int e = graph.edgeStart(node); e < graph.edgeEnd(node); e++) {
+                    writer.write(e == graph.edgeStart(node) ? " " : ", ");
+                    writer.write(toKey(graph.node(graph.target(e))));
+                }
+                writer.newLine();
+            }
+        }
+        System.out.println("✅ Снимок графа сохранен: " + file);
+    }
+
+    /**
+     * Загружает граф из файла снимка.
+     * @return Корневой пакет восстановленного графа.
+     */
+    public PackageInfo load(Path file) throws IOException {
+        Map<String, PackageInfo> packages = new HashMap<>();
+        PackageInfo root = null;
+
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                if (line.startsWith(ROOT_PREFIX)) {
+                    root = getOrCreate(packages, line.substring(ROOT_PREFIX.length()).trim());
+                    continue;
+                }
+
+                String[] parts = line.split(" ->", 2);
+                PackageInfo current = getOrCreate(packages, parts[0].trim());
+                if (parts.length < 2 || parts[1].trim().isEmpty()) {
+                    continue;
+                }
+                for (String depEntry : parts[1].split(",")) {
+                    PackageInfo dep = getOrCreate(packages, depEntry.trim());
+                    current.addDependency(dep);
+                    dep.addReverseDependency(current);
+                }
+            }
+        }
+
+        if (root == null) {
+            throw new IOException("В снимке не указан корневой пакет (строка ROOT): " + file);
+        }
+        return root;
+    }
+
+    private PackageInfo getOrCreate(Map<String, PackageInfo> packages, String key) {
+        return packages.computeIfAbsent(key, k -> {
+            int separator = k.lastIndexOf(':');
+            return separator == -1
+                    ? new PackageInfo(k, "1.0.0")
+                    : new PackageInfo(k.substring(0, separator).trim(), k.substring(separator + 1).trim());
+        });
+    }
+
+    private String toKey(PackageInfo pkg) {
+        return pkg.getId() + ":" + pkg.getVersion();
+    }
+}
@@ -56,7 +56,7 @@ public class GraphvizGenerator {
     /**
      * Рекурсивно строит DOT-код.
      */
-    private String buildDotCode(PackageInfo root) {
+    String buildDotCode(PackageInfo root) {
         StringBuilder builder = new StringBuilder();
         // Set для отслеживания уже обработанных узлов (чтобы избежать дублирования определения узла и бесконечных циклов)
         Set<PackageInfo> visitedNodes = new HashSet<>();
@@ -0,0 +1,54 @@
+package by.Alexeiop;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Минимальные вспомогательные методы для записи JSON без внешних библиотек.
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Пишет строку без кавычек, экранируя спецсимволы JSON.
+     * Строки без спецсимволов (обычный случай для ID и версий) пишутся целиком, без копирования.
+     */
+    static void writeEscaped(Writer writer, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c == '"' || c == '\\') {
+                String quoted = quote(value);
+                writer.write(quoted, 1, quoted.length() - 2);
+                return;
+            }
+        }
+        writer.write(value);
+    }
+
+    /**
+     * Возвращает строку в кавычках с экранированием спецсимволов JSON.
+     */
+    static String quote(String value) {
+        StringBuilder builder = new StringBuilder(value.length() + 2);
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': builder.append("\\\""); break;
+                case '\\': builder.append("\\\\"); break;
+                case '\n': builder.append("\\n"); break;
+                case '\r': builder.append("\\r"); break;
+                case '\t': builder.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        return builder.append('"').toString();
+    }
+}
@@ -0,0 +1,67 @@
+package by.Alexeiop;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+
+/**
+ * Экспорт в формат JSON Lines: одна JSON-запись на строку.
+ * <pre>
+ * {"type": "node", "key": "A:1.0.0", "id": "A", "version": "1.0.0", "root": true}
+ * {"type": "edge", "from": "A:1.0.0", "to": "B:2.0.0"}
+ * </pre>
+ */
+public class JsonLinesExporter implements GraphExporter {
+
+    private final Writer writer;
+    private PackageInfo root;
+
+    public JsonLinesExporter(Path file) throws IOException {
+        this.writer = GraphExporter.openWriter(file);
+    }
+
+    @Override
+    public void beginGraph(PackageInfo root) {
+        this.root = root;
+    }
+
+    @Override
+    public void node(PackageInfo pkg) throws IOException {
+        writer.write("{\"type\": \"node\", \"key\": ");
+        writeKey(pkg);
+        writer.write(", \"id\": \"");
+        Json.writeEscaped(writer, pkg.getId());
+        writer.write("\", \"version\": \"");
+        Json.writeEscaped(writer, pkg.getVersion());
+        writer.write(pkg == root ? "\", \"root\": true}\n" : "\"}\n");
+    }
+
+    @Override
+    public void edge(PackageInfo from, PackageInfo to) throws IOException {
+        writer.write("{\"type\": \"edge\", \"from\": ");
+        writeKey(from);
+        writer.write(", \"to\": ");
+        writeKey(to);
+        writer.write("}\n");
+    }
+
+    /**
+     * Пишет ключ "ID:VERSION" в кавычках без создания промежуточной строки.
+     */
+    private void writeKey(PackageInfo pkg) throws IOException {
+        writer.write('"');
+        Json.writeEscaped(writer, pkg.getId());
+        writer.write(':');
+        Json.writeEscaped(writer, pkg.getVersion());
+        writer.write('"');
+    }
+
+    @Override
+    public void endGraph() {
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
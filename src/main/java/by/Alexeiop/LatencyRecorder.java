@@ -0,0 +1,44 @@
+package by.Alexeiop;
+
+import java.util.Arrays;
+
+/**
+ * Хранит длительности последних запросов (кольцевой буфер) и вычисляет перцентили.
+ */
+public class LatencyRecorder {
+
+    private final long[] samples;
+    private int count;
+    private int next;
+    private long total;
+
+    /**
+     * @param capacity Количество последних замеров, по которым считаются перцентили.
+     */
+    public LatencyRecorder(int capacity) {
+        this.samples = new long[capacity];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) count++;
+        total++;
+    }
+
+    /**
+     * @param percentile Перцентиль от 0 до 100 (например, 50 или 99).
+     * @return Значение перцентиля в миллисекундах или 0, если замеров нет.
+     */
+    public synchronized double percentileMillis(double percentile) {
+        if (count == 0) return 0;
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))] / 1_000_000.0;
+    }
+
+    public synchronized long getTotal() {
+        return total;
+    }
+}
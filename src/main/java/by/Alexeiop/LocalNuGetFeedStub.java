@@ -0,0 +1,127 @@
+package by.Alexeiop;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Локальная заглушка NuGet-репозитория (протокол v3) с искусственной задержкой ответа.
+ * Пакеты и зависимости берутся из файла тестового репозитория (формат TEST-режима),
+ * .nupkg с .nuspec генерируется на лету. Нужна для замеров сетевых сценариев без интернета.
+ */
+public class LocalNuGetFeedStub {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final String testRepositoryFile;
+    private final long delayMillis;
+    private final AtomicInteger packageRequests = new AtomicInteger();
+
+    /**
+     * @param testRepositoryFile Файл тестового репозитория.
+     * @param delayMillis Задержка перед каждым ответом (имитация сетевой задержки).
+     */
+    public LocalNuGetFeedStub(String testRepositoryFile, long delayMillis) throws IOException {
+        this.testRepositoryFile = testRepositoryFile;
+        this.delayMillis = delayMillis;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/v3/index.json", this::handleServiceIndex);
+        server.createContext("/v3-flatcontainer/", this::handlePackage);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    /**
+     * @return URL индекса сервиса для передачи в DependencyFetcher.
+     */
+    public String getServiceIndexUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v3/index.json";
+    }
+
+    public int getPackageRequests() {
+        return packageRequests.get();
+    }
+
+    private void handleServiceIndex(HttpExchange exchange) throws IOException {
+        delay();
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/v3-flatcontainer/";
+        String json = "{\"version\": \"3.0.0\", \"resources\": [\n"
+                + "  {\"@type\": \"PackageBaseAddress/3.0.0\", \"@id\": \"" + baseUrl + "\"}\n]}\n";
+        send(exchange, 200, json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Обрабатывает запрос вида /v3-flatcontainer/{id}/{version}/{id}.{version}.nupkg
+     */
+    private void handlePackage(HttpExchange exchange) throws IOException {
+        packageRequests.incrementAndGet();
+        delay();
+        String[] parts = exchange.getRequestURI().getPath().split("/");
+        if (parts.length < 5) {
+            send(exchange, 404, new byte[0]);
+            return;
+        }
+        String id = parts[2];
+        String version = parts[3];
+        List<PackageInfo> dependencies = DependencyGraphBuilder.getTestDependencies(id, version, testRepositoryFile);
+        send(exchange, 200, buildNupkg(id, version, dependencies));
+    }
+
+    private byte[] buildNupkg(String id, String version, List<PackageInfo> dependencies) throws IOException {
+        StringBuilder nuspec = new StringBuilder();
+        nuspec.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n");
+        nuspec.append("<package><metadata>\n");
+        nuspec.append("  <id>").append(id).append("</id><version>").append(version).append("</version>\n");
+        nuspec.append("  <dependencies><group targetFramework=\"net8.0\">\n");
+        for (PackageInfo dep : dependencies) {
+            nuspec.append("    <dependency id=\"").append(dep.getId())
+                    .append("\" version=\"[").append(dep.getVersion()).append(", )\" />\n");
+        }
+        nuspec.append("  </group></dependencies>\n");
+        nuspec.append("</metadata></package>\n");
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(buffer)) {
+            zip.putNextEntry(new ZipEntry(id + ".nuspec"));
+            zip.write(nuspec.toString().getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        return buffer.toByteArray();
+    }
+
+    private void delay() {
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package by.Alexeiop;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Потокобезопасный LRU-кэш, ограниченный суммарным "весом" записей
+ * (например, количеством узлов в закэшированных графах).
+ * При превышении бюджета вытесняются давно не использованные записи.
+ */
+public class LruCache<K, V> {
+
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true); // accessOrder = true
+    private final Map<K, Integer> weights = new HashMap<>();
+    private final ToIntFunction<V> weigher;
+    private final long maxWeight;
+    private long totalWeight;
+    private long hits;
+    private long misses;
+
+    /**
+     * @param maxWeight Максимальный суммарный вес записей.
+     * @param weigher Функция вычисления веса записи.
+     */
+    public LruCache(long maxWeight, ToIntFunction<V> weigher) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    public synchronized V get(K key) {
+        V value = entries.get(key);
+        if (value == null) misses++;
+        else hits++;
+        return value;
+    }
+
+    public void put(K key, V value) {
+        // Вес считается вне монитора: он может быть дорогим (например, обход всего графа),
+        // и get() других потоков, в том числе попадания в кэш, не должны его ждать
+        putWeighed(key, value, Math.max(1, weigher.applyAsInt(value)));
+    }
+
+    private synchronized void putWeighed(K key, V value, int weight) {
+        remove(key);
+        if (weight > maxWeight) {
+            return; // Запись больше всего бюджета - не кэшируем
+        }
+        entries.put(key, value);
+        weights.put(key, weight);
+        totalWeight += weight;
+
+        Iterator<K> eldest = entries.keySet().iterator();
+        while (totalWeight > maxWeight && eldest.hasNext()) {
+            K eldestKey = eldest.next();
+            eldest.remove();
+            totalWeight -= weights.remove(eldestKey);
+        }
+    }
+
+    public synchronized void remove(K key) {
+        if (entries.remove(key) != null) {
+            totalWeight -= weights.remove(key);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getTotalWeight() {
+        return totalWeight;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
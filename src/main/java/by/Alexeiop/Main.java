@@ -1,5 +1,12 @@
 package by.Alexeiop;
 
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Queue;
@@ -8,26 +15,37 @@ import java.util.Set;
 
 public class Main {
 
+    // Бюджет кэша графов в режиме сервера (суммарное количество узлов)
+    private static final long DEFAULT_SERVER_CACHE_NODES = 1_000_000;
+    // Количество одновременных загрузок при предзагрузке
+    private static final int DEFAULT_PREFETCH_CONCURRENCY = 16;
+
     /**
      * Вывод ASCII-дерева.
+     * Повтор пакета, который уже есть на текущем пути от корня, - это цикл;
+     * повтор пакета из другой ветки - общая зависимость (ромб).
      */
-    private static void printGraph(PackageInfo root, String prefix, boolean isTail, Set<PackageInfo> visitedForPrint) {
+    static void printGraph(PrintStream out, PackageInfo root, String prefix, boolean isTail, Set<PackageInfo> visitedForPrint, Set<PackageInfo> currentPath) {
+        boolean isCycle = currentPath.contains(root);
         boolean isRepetition = visitedForPrint.contains(root);
-        System.out.println(prefix + (isTail ? "└── " : "├── ") + root.getId() + " (" + root.getVersion() + ")" + (isRepetition ? " [ПОВТОР/ЦИКЛ]" : ""));
+        String marker = isCycle ? " [ЦИКЛ]" : (isRepetition ? " [ПОВТОР]" : "");
+        out.println(prefix + (isTail ? "└── " : "├── ") + root.getId() + " (" + root.getVersion() + ")" + marker);
         if (isRepetition) return;
         visitedForPrint.add(root);
+        currentPath.add(root);
         List<PackageInfo> dependencies = root.getDependencies();
         for (int i = 0; i < dependencies.size(); i++) {
             boolean isLast = (i == dependencies.size() - 1);
-            printGraph(dependencies.get(i), prefix + (isTail ? "    " : "│   "), isLast, visitedForPrint);
+            printGraph(out, dependencies.get(i), prefix + (isTail ? "    " : "│   "), isLast, visitedForPrint, currentPath);
         }
+        currentPath.remove(root);
     }
 
     /**
      * Поиск обратных зависимостей (Этап 4).
      */
-    private static void printReverseDependencies(PackageInfo root, String targetPackageId) {
-        System.out.println("\n*** Обратные зависимости для пакета: " + targetPackageId + " ***");
+    static void printReverseDependencies(PrintStream out, PackageInfo root, String targetPackageId) {
+        out.println("\n*** Обратные зависимости для пакета: " + targetPackageId + " ***");
         Queue<PackageInfo> queue = new LinkedList<>();
         Set<PackageInfo> visited = new HashSet<>();
         queue.add(root);
@@ -45,18 +63,126 @@ public class Main {
             }
         }
         if (targetPackage == null) {
-            System.out.println("Пакет '" + targetPackageId + "' не найден в графе.");
+            out.println("Пакет '" + targetPackageId + "' не найден в графе.");
             return;
         }
         List<PackageInfo> reverseDeps = targetPackage.getReverseDependencies();
         if (reverseDeps.isEmpty()) {
-            System.out.println("Обратные зависимости не найдены.");
+            out.println("Обратные зависимости не найдены.");
         } else {
-            System.out.println("Пакеты, зависящие от " + targetPackage.getId() + ":");
-            reverseDeps.forEach(dep -> System.out.printf("- %s\n", dep.getId()));
+            out.println("Пакеты, зависящие от " + targetPackage.getId() + ":");
+            reverseDeps.forEach(dep -> out.printf("- %s\n", dep.getId()));
+        }
+    }
+
+    private static PackageInfo loadSnapshot(String snapshotFile) {
+        try {
+            return new GraphSnapshot().load(Path.of(snapshotFile));
+        } catch (IOException e) {
+            System.err.println("Ошибка при чтении снимка графа: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Сравнение графов: текстовый отчет, JSON и цветные схемы DOT/Mermaid.
+     */
+    private static void printDiff(PackageInfo oldGraph, PackageInfo newGraph, String outputFileName) {
+        DependencyGraphDiff diff = DependencyGraphDiff.compute(oldGraph, newGraph);
+        diff.printReport(System.out);
+
+        String baseName = GraphExporter.baseName(outputFileName);
+        try {
+            diff.saveJson(Path.of(baseName + ".diff.json"));
+        } catch (IOException e) {
+            System.err.println("Ошибка при сохранении JSON сравнения: " + e.getMessage());
+        }
+        DiffOverlayGenerator overlayGenerator = new DiffOverlayGenerator();
+        overlayGenerator.generateAndSaveDotFile(diff, outputFileName);
+        overlayGenerator.generateAndSaveMermaidFile(diff, outputFileName);
+    }
+
+    /**
+     * Построение графа в режиме ограниченной памяти. Служебные файлы (хеш-таблицы, очередь)
+     * создаются во временном каталоге внутри spillDirectory и удаляются в конце.
+     */
+    private static void resolveOnDisk(String packageId, String packageVersion, String repository, Integer maxDepth,
+                                      String workingMode, String outputFileName, String spillDirectory) {
+        String baseName = outputFileName == null ? "dependency-graph" : GraphExporter.baseName(outputFileName);
+        Path workDirectory = null;
+        try {
+            workDirectory = spillDirectory != null
+                    ? Files.createTempDirectory(Path.of(spillDirectory), "resolver-spill")
+                    : Files.createTempDirectory("resolver-spill");
+            DiskGraph graph = new BoundedMemoryResolver(new DependencyFetcher(), workDirectory)
+                    .resolve(packageId, packageVersion, repository, maxDepth, workingMode, baseName);
+            System.out.println("Узлы: " + graph.getNodesFile() + ", ребра: " + graph.getEdgesFile());
+            graph.printDegreeReport(System.out, workDirectory);
+            if (outputFileName != null) {
+                graph.renderDot(Path.of(baseName + ".dot"));
+            }
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("Ошибка построения графа в режиме ограниченной памяти: " + e.getMessage());
+        } finally {
+            if (workDirectory != null) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(workDirectory)) {
+                    for (Path file : files) Files.delete(file);
+                    Files.delete(workDirectory);
+                } catch (IOException e) {
+                    System.err.println("Не удалось удалить временный каталог " + workDirectory + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static void printAnalytics(PackageInfo root, String outputFileName) {
+        GraphAnalytics.Result analytics = new GraphAnalytics().analyze(root);
+        analytics.printReport(System.out);
+
+        String baseName = GraphExporter.baseName(outputFileName);
+        try {
+            analytics.saveJson(Path.of(baseName + ".analytics.json"));
+        } catch (IOException e) {
+            System.err.println("Ошибка при сохранении JSON аналитики: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Экспорт графа сразу в несколько форматов (список через запятую).
+     */
+    private static void exportGraph(PackageInfo root, String exportFormats, String outputFileName) {
+        String baseName = GraphExporter.baseName(outputFileName);
+        List<GraphExporter> exporters = new ArrayList<>();
+        try {
+            for (String format : GraphExporter.parseFormats(exportFormats)) {
+                exporters.add(GraphExporter.forFormat(format, baseName));
+            }
+            long edgeCount = new GraphExportTraversal().export(root, exporters);
+            System.out.println("✅ Граф экспортирован (" + exportFormats + "), ребер: " + edgeCount);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Ошибка при экспорте графа: " + e.getMessage());
+        } finally {
+            for (GraphExporter exporter : exporters) {
+                try {
+                    exporter.close();
+                } catch (IOException e) {
+                    System.err.println("Ошибка при закрытии файла экспорта: " + e.getMessage());
+                }
+            }
         }
     }
 
+    /**
+     * Проверяет, включен ли анализ в списке через запятую (например, "cycles,analytics").
+     */
+    private static boolean isAnalysisEnabled(String analysisMode, String analysis) {
+        if (analysisMode == null) return false;
+        for (String mode : analysisMode.split(",")) {
+            if (mode.trim().equalsIgnoreCase(analysis)) return true;
+        }
+        return false;
+    }
+
     public static void main(String[] args) {
         String nameAnalysisPackage = null;
         String urlAddressRepository = null;
@@ -65,9 +191,25 @@ public class Main {
         String nameFileWithImageGraph = null;
         String ModePrintDependency = null;
         Integer maxDepthAnalysisDependencies = null;
+        String analysisMode = null;
+        String compareVersionPackage = null;
+        String compareWithSnapshot = null;
+        String saveGraphSnapshot = null;
+        Integer serverPort = null;
+        Long serverCacheNodes = null;
+        String exportFormats = null;
+        // "nuget" - одна версия каждого пакета; "disk" - граф в файлах (множество посещенных пакетов
+        // хранит только 64-битный хеш ID+VERSION: пакеты с совпавшим хешем молча сливаются в один узел)
+        String resolutionMode = null;
+        String prefetchFrom = null;
+        Integer prefetchConcurrency = null;
+        String spillDirectory = null;
 
         Set<String> paramSet = Set.of("-nameAnalysisPackage", "-urlAddressRepository", "-workingModeWithTestRepository",
-                "-versionPackage", "-nameFileWithImageGraph", "-ModePrintDependency", "-maxDepthAnalysisDependencies");
+                "-versionPackage", "-nameFileWithImageGraph", "-ModePrintDependency", "-maxDepthAnalysisDependencies",
+                "-analysisMode", "-compareVersionPackage", "-compareWithSnapshot", "-saveGraphSnapshot",
+                "-serverPort", "-serverCacheNodes", "-exportFormats", "-resolutionMode", "-prefetchFrom",
+                "-prefetchConcurrency", "-spillDirectory");
 
         // Парсинг аргументов
         for (int i = 0; i < args.length; i++) {
@@ -81,6 +223,17 @@ public class Main {
                     case "-nameFileWithImageGraph": nameFileWithImageGraph = val; break;
                     case "-ModePrintDependency": ModePrintDependency = val; break;
                     case "-maxDepthAnalysisDependencies": maxDepthAnalysisDependencies = Integer.valueOf(val); break;
+                    case "-analysisMode": analysisMode = val; break;
+                    case "-compareVersionPackage": compareVersionPackage = val; break;
+                    case "-compareWithSnapshot": compareWithSnapshot = val; break;
+                    case "-saveGraphSnapshot": saveGraphSnapshot = val; break;
+                    case "-serverPort": serverPort = Integer.valueOf(val); break;
+                    case "-serverCacheNodes": serverCacheNodes = Long.valueOf(val); break;
+                    case "-exportFormats": exportFormats = val; break;
+                    case "-resolutionMode": resolutionMode = val; break;
+                    case "-prefetchFrom": prefetchFrom = val; break;
+                    case "-prefetchConcurrency": prefetchConcurrency = Integer.valueOf(val); break;
+                    case "-spillDirectory": spillDirectory = val; break;
                 }
                 i++;
             }
@@ -88,29 +241,105 @@ public class Main {
 
         System.out.println("Параметры считаны. Начинаем работу...");
 
+        // --- Режим сервера: процесс остается запущенным и отвечает на HTTP-запросы ---
+        if (serverPort != null) {
+            try {
+                ResolverServer server = new ResolverServer(serverPort, urlAddressRepository, workingModeWithTestRepository,
+                        serverCacheNodes != null ? serverCacheNodes : DEFAULT_SERVER_CACHE_NODES);
+                server.start();
+                Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+            } catch (IOException e) {
+                System.err.println("Ошибка запуска сервера: " + e.getMessage());
+            }
+            return;
+        }
+
         if (nameAnalysisPackage == null || versionPackage == null || urlAddressRepository == null) {
             System.err.println("Ошибка: Не заданы обязательные параметры.");
             return;
         }
 
+        // --- Режим ограниченной памяти: граф строится в файлы и анализируется потоково ---
+        // Посещенные пакеты различаются по 64-битному хешу, а не по строке: при совпадении хешей
+        // (для 10 млн пакетов вероятность порядка 10^-6) два пакета станут одним узлом без предупреждения.
+        if ("disk".equalsIgnoreCase(resolutionMode)) {
+            // Анализ и экспорт, которым нужен граф в памяти, здесь не выполняются - сообщаем об этом явно
+            List<String> unsupported = new ArrayList<>();
+            if (ModePrintDependency != null) unsupported.add("-ModePrintDependency");
+            if (analysisMode != null) unsupported.add("-analysisMode");
+            if (exportFormats != null) unsupported.add("-exportFormats");
+            if (compareVersionPackage != null) unsupported.add("-compareVersionPackage");
+            if (compareWithSnapshot != null) unsupported.add("-compareWithSnapshot");
+            if (saveGraphSnapshot != null) unsupported.add("-saveGraphSnapshot");
+            if (prefetchFrom != null) unsupported.add("-prefetchFrom");
+            if (!unsupported.isEmpty()) {
+                System.err.println("Предупреждение: в режиме -resolutionMode disk не поддерживаются "
+                        + String.join(", ", unsupported) + " - параметры проигнорированы "
+                        + "(выполняются только отчет о степенях узлов и DOT-файл).");
+            }
+            resolveOnDisk(nameAnalysisPackage, versionPackage, urlAddressRepository, maxDepthAnalysisDependencies,
+                    workingModeWithTestRepository, nameFileWithImageGraph, spillDirectory);
+            System.out.println("\nРабота завершена.");
+            return;
+        }
+
         // --- ЭТАП 3: Построение ---
         DependencyFetcher fetcher = new DependencyFetcher();
         DependencyGraphBuilder graphBuilder = new DependencyGraphBuilder(fetcher);
 
-        PackageInfo dependencyGraph = graphBuilder.buildDependencyGraph(
-                nameAnalysisPackage, versionPackage, urlAddressRepository,
-                maxDepthAnalysisDependencies, workingModeWithTestRepository);
+        // Предзагрузка пакетов, известных по прошлому снимку или packages.lock.json
+        int prefetched = 0;
+        if (prefetchFrom != null) {
+            try {
+                prefetched = new DependencyPrefetcher(graphBuilder).prefetch(Path.of(prefetchFrom),
+                        prefetchConcurrency != null ? prefetchConcurrency : DEFAULT_PREFETCH_CONCURRENCY,
+                        nameAnalysisPackage, versionPackage, urlAddressRepository, workingModeWithTestRepository);
+            } catch (IOException e) {
+                System.err.println("Ошибка при чтении списка пакетов для предзагрузки: " + e.getMessage());
+            }
+        }
+
+        PackageInfo dependencyGraph;
+        if ("nuget".equalsIgnoreCase(resolutionMode)) {
+            // Разрешение конфликтов версий: в графе остается одна версия каждого пакета
+            NuGetResolution resolution = graphBuilder.buildNuGetResolvedGraph(
+                    nameAnalysisPackage, versionPackage, urlAddressRepository,
+                    maxDepthAnalysisDependencies, workingModeWithTestRepository);
+            resolution.printReport(System.out);
+            dependencyGraph = resolution.getRoot();
+        } else {
+            dependencyGraph = graphBuilder.buildDependencyGraph(
+                    nameAnalysisPackage, versionPackage, urlAddressRepository,
+                    maxDepthAnalysisDependencies, workingModeWithTestRepository);
+        }
+        if (prefetchFrom != null) {
+            System.out.println("Догружено при построении (нет в списке предзагрузки): " + (graphBuilder.getFetchCount() - prefetched));
+            System.out.println("Предзагружено, но не понадобилось при построении: " + graphBuilder.getUnusedPrefetchCount());
+            if (graphBuilder.getFailedPrefetchCount() > 0) {
+                System.out.println("Не удалось предзагрузить (загружались повторно при построении): " + graphBuilder.getFailedPrefetchCount());
+            }
+        }
 
         if (dependencyGraph != null) {
             // --- ЭТАП 3: Вывод дерева ---
             if ("tree".equalsIgnoreCase(ModePrintDependency)) {
                 System.out.println("\n*** Граф зависимостей (ASCII-дерево) ***");
-                printGraph(dependencyGraph, "", true, new HashSet<>());
+                printGraph(System.out, dependencyGraph, "", true, new HashSet<>(), new HashSet<>());
+            }
+
+            // --- Анализ циклов (Тарьян) ---
+            if (isAnalysisEnabled(analysisMode, "cycles")) {
+                new CycleAnalyzer().analyze(dependencyGraph).printReport(System.out);
+            }
+
+            // --- Аналитика: степени, замыкания (доминаторы), центральность ---
+            if (isAnalysisEnabled(analysisMode, "analytics")) {
+                printAnalytics(dependencyGraph, nameFileWithImageGraph != null ? nameFileWithImageGraph : "dependency-graph");
             }
 
             // --- ЭТАП 4: Обратные зависимости (Демонстрация) ---
             // Пытаемся найти обратные зависимости для пакета "B" (если он есть в графе)
-            printReverseDependencies(dependencyGraph, "B");
+            printReverseDependencies(System.out, dependencyGraph, "B");
 
             // --- ЭТАП 5: Визуализация (Graphviz + Mermaid) ---
             if (nameFileWithImageGraph != null) {
@@ -124,6 +353,44 @@ public class Main {
                 MermaidGenerator mGenerator = new MermaidGenerator();
                 mGenerator.generateAndSaveMermaidFile(dependencyGraph, nameFileWithImageGraph);
             }
+
+            // --- Экспорт в машиночитаемые форматы (jsonl, graphml, csv) за один обход ---
+            if (exportFormats != null) {
+                exportGraph(dependencyGraph, exportFormats, nameFileWithImageGraph != null ? nameFileWithImageGraph : "dependency-graph");
+            }
+
+            // --- Сравнение с другой версией корневого пакета или со снимком ---
+            if (compareVersionPackage != null || compareWithSnapshot != null) {
+                PackageInfo oldGraph = dependencyGraph;
+                PackageInfo newGraph = dependencyGraph;
+                if (compareVersionPackage != null) {
+                    // Тот же builder: пакеты, общие для обеих версий, загружаются один раз.
+                    // Вторая версия строится в том же режиме, иначе различия дает сам режим разрешения
+                    if ("nuget".equalsIgnoreCase(resolutionMode)) {
+                        newGraph = graphBuilder.buildNuGetResolvedGraph(
+                                nameAnalysisPackage, compareVersionPackage, urlAddressRepository,
+                                maxDepthAnalysisDependencies, workingModeWithTestRepository).getRoot();
+                    } else {
+                        newGraph = graphBuilder.buildDependencyGraph(
+                                nameAnalysisPackage, compareVersionPackage, urlAddressRepository,
+                                maxDepthAnalysisDependencies, workingModeWithTestRepository);
+                    }
+                    System.out.println("Загружено пакетов для обеих версий: " + graphBuilder.getFetchCount());
+                } else {
+                    oldGraph = loadSnapshot(compareWithSnapshot);
+                }
+                if (oldGraph != null) {
+                    printDiff(oldGraph, newGraph, nameFileWithImageGraph != null ? nameFileWithImageGraph : "dependency-graph");
+                }
+            }
+
+            if (saveGraphSnapshot != null) {
+                try {
+                    new GraphSnapshot().save(dependencyGraph, Path.of(saveGraphSnapshot));
+                } catch (IOException e) {
+                    System.err.println("Ошибка при сохранении снимка графа: " + e.getMessage());
+                }
+            }
         }
         System.out.println("\nРабота завершена.");
     }
@@ -0,0 +1,131 @@
+package by.Alexeiop;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Файл, отображенный в память сегментами по 64 МБ, с адресацией по long-смещению
+ * (один MappedByteBuffer ограничен 2 ГБ). Сегменты отображаются при первом обращении,
+ * файл растет автоматически. Данные живут в page cache, а не в куче: ОС сама
+ * сбрасывает страницы на диск и вытесняет их при нехватке памяти.
+ */
+public class MappedFile implements Closeable {
+
+    private static final int SEGMENT_SHIFT = 26;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = (int) (SEGMENT_SIZE - 1);
+
+    private final Path path;
+    private final FileChannel channel;
+    private MappedByteBuffer[] segments = new MappedByteBuffer[16];
+    private int releasedSegments;
+
+    /**
+     * Открывает (или создает) файл. Существующее содержимое сохраняется.
+     */
+    public MappedFile(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    private MappedByteBuffer segment(long offset) {
+        int index = (int) (offset >>> SEGMENT_SHIFT);
+        if (index >= segments.length) {
+            segments = Arrays.copyOf(segments, Math.max(index + 1, segments.length * 2));
+        }
+        MappedByteBuffer segment = segments[index];
+        if (segment == null) {
+            try {
+                // READ_WRITE-отображение за концом файла расширяет его (разреженный файл)
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, index * SEGMENT_SIZE, SEGMENT_SIZE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Не удалось отобразить сегмент файла " + path, e);
+            }
+            segments[index] = segment;
+        }
+        return segment;
+    }
+
+    /**
+     * Чтение long по смещению, кратному 8 (значение не пересекает границу сегмента).
+     */
+    public long getLong(long offset) {
+        return segment(offset).getLong((int) offset & SEGMENT_MASK);
+    }
+
+    public void putLong(long offset, long value) {
+        segment(offset).putLong((int) offset & SEGMENT_MASK, value);
+    }
+
+    /**
+     * Чтение int по смещению, кратному 4.
+     */
+    public int getInt(long offset) {
+        return segment(offset).getInt((int) offset & SEGMENT_MASK);
+    }
+
+    public void putInt(long offset, int value) {
+        segment(offset).putInt((int) offset & SEGMENT_MASK, value);
+    }
+
+    /**
+     * Запись массива байт; массив может пересекать границу сегментов.
+     */
+    public void putBytes(long offset, byte[] bytes) {
+        int written = 0;
+        while (written < bytes.length) {
+            int position = (int) ((offset + written) & SEGMENT_MASK);
+            int chunk = (int) Math.min(bytes.length - written, SEGMENT_SIZE - position);
+            segment(offset + written).put(position, bytes, written, chunk);
+            written += chunk;
+        }
+    }
+
+    public byte[] getBytes(long offset, int length) {
+        byte[] bytes = new byte[length];
+        int read = 0;
+        while (read < length) {
+            int position = (int) ((offset + read) & SEGMENT_MASK);
+            int chunk = (int) Math.min(length - read, SEGMENT_SIZE - position);
+            segment(offset + read).get(position, bytes, read, chunk);
+            read += chunk;
+        }
+        return bytes;
+    }
+
+    /**
+     * Отпускает сегменты, целиком лежащие до смещения (например, уже прочитанная часть очереди).
+     * Отображение снимается сборщиком мусора, после чего страницы могут быть вытеснены.
+     */
+    public void releaseBefore(long offset) {
+        int last = (int) Math.min(offset >>> SEGMENT_SHIFT, segments.length);
+        for (; releasedSegments < last; releasedSegments++) {
+            segments[releasedSegments] = null;
+        }
+    }
+
+    /**
+     * Закрывает файл и удаляет его с диска.
+     */
+    public void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public void close() throws IOException {
+        Arrays.fill(segments, null);
+        channel.close();
+    }
+}
@@ -0,0 +1,98 @@
+package by.Alexeiop;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Очередь BFS в файле, отображенном в память. Запись: номер узла, глубина,
+ * длина и байты ID, длина и байты версии. Запись идет в конец файла, чтение - с начала;
+ * прочитанные сегменты отпускаются, поэтому в памяти остается только "окно" очереди.
+ */
+public class MappedFrontierQueue implements Closeable {
+
+    /**
+     * Элемент очереди.
+     */
+    public static class Entry {
+        private final int node;
+        private final int depth;
+        private final String id;
+        private final String version;
+
+        private Entry(int node, int depth, String id, String version) {
+            this.node = node;
+            this.depth = depth;
+            this.id = id;
+            this.version = version;
+        }
+
+        public int getNode() {
+            return node;
+        }
+
+        public int getDepth() {
+            return depth;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+    }
+
+    private final MappedFile file;
+    private long head;
+    private long tail;
+
+    public MappedFrontierQueue(Path file) throws IOException {
+        this.file = new MappedFile(file);
+    }
+
+    public void add(int node, int depth, String id, String version) {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        byte[] versionBytes = version.getBytes(StandardCharsets.UTF_8);
+        file.putInt(tail, node);
+        file.putInt(tail + 4, depth);
+        file.putInt(tail + 8, idBytes.length);
+        file.putBytes(tail + 12, idBytes);
+        long versionOffset = align(tail + 12 + idBytes.length);
+        file.putInt(versionOffset, versionBytes.length);
+        file.putBytes(versionOffset + 4, versionBytes);
+        tail = align(versionOffset + 4 + versionBytes.length);
+    }
+
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    public Entry poll() {
+        int node = file.getInt(head);
+        int depth = file.getInt(head + 4);
+        int idLength = file.getInt(head + 8);
+        String id = new String(file.getBytes(head + 12, idLength), StandardCharsets.UTF_8);
+        long versionOffset = align(head + 12 + idLength);
+        int versionLength = file.getInt(versionOffset);
+        String version = new String(file.getBytes(versionOffset + 4, versionLength), StandardCharsets.UTF_8);
+        head = align(versionOffset + 4 + versionLength);
+        file.releaseBefore(head);
+        return new Entry(node, depth, id, version);
+    }
+
+    // Выравнивание по 4 байтам: int не пересекает границу сегмента
+    private static long align(long offset) {
+        return (offset + 3) & ~3L;
+    }
+
+    /**
+     * Закрывает очередь и удаляет ее файл.
+     */
+    @Override
+    public void close() throws IOException {
+        file.delete();
+    }
+}
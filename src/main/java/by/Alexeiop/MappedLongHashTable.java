@@ -0,0 +1,144 @@
+package by.Alexeiop;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Хеш-таблица long -> long с открытой адресацией (линейное пробирование) в файле,
+ * отображенном в память. Ячейка занимает 16 байт: ключ и значение + 1 (0 - пустая ячейка),
+ * поэтому допустимы любые ключи и неотрицательные значения.
+ * При заполнении больше чем наполовину таблица перестраивается в новый файл вдвое большего размера.
+ * Старые файлы удаляются только в close(): отображение снимается лишь сборщиком мусора,
+ * а файл с действующим отображением в Windows удалить нельзя.
+ * Пакеты хранятся по 64-битному хешу строки (см. hashKey); вероятность совпадения хешей
+ * для 10 млн пакетов порядка 10^-6.
+ */
+public class MappedLongHashTable implements Closeable {
+
+    private static final int SLOT_SIZE = 16;
+
+    private final Path directory;
+    private final String name;
+    private MappedFile file;
+    // Файлы предыдущих поколений таблицы (закрыты, удаляются в close())
+    private final List<MappedFile> retiredFiles = new ArrayList<>();
+    private long capacity;
+    private long size;
+    private int generation;
+
+    /**
+     * @param directory Каталог для файла таблицы.
+     * @param name Префикс имени файла.
+     * @param expectedSize Ожидаемое количество ключей (таблица растет и сверх него).
+     */
+    public MappedLongHashTable(Path directory, String name, long expectedSize) throws IOException {
+        this.directory = directory;
+        this.name = name;
+        this.capacity = Long.highestOneBit(Math.max(1024, expectedSize * 2 - 1)) << 1;
+        this.file = openFile();
+    }
+
+    private MappedFile openFile() throws IOException {
+        return new MappedFile(directory.resolve(name + "-" + (generation++) + ".bin"));
+    }
+
+    /**
+     * @return Значение по ключу или missing, если ключа нет.
+     */
+    public long get(long key, long missing) {
+        long mask = capacity - 1;
+        for (long slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long stored = file.getLong(slot * SLOT_SIZE + 8);
+            if (stored == 0) return missing;
+            if (file.getLong(slot * SLOT_SIZE) == key) return stored - 1;
+        }
+    }
+
+    /**
+     * Добавляет ключ, если его еще нет.
+     * @return true, если ключ добавлен; false, если он уже был (значение не меняется).
+     */
+    public boolean putIfAbsent(long key, long value) throws IOException {
+        if (!insert(file, capacity, key, value)) return false;
+        if (++size * 2 > capacity) grow();
+        return true;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    private static boolean insert(MappedFile target, long targetCapacity, long key, long value) {
+        long mask = targetCapacity - 1;
+        for (long slot = mix(key) & mask; ; slot = (slot + 1) & mask) {
+            long stored = target.getLong(slot * SLOT_SIZE + 8);
+            if (stored == 0) {
+                target.putLong(slot * SLOT_SIZE, key);
+                target.putLong(slot * SLOT_SIZE + 8, value + 1);
+                return true;
+            }
+            if (target.getLong(slot * SLOT_SIZE) == key) return false;
+        }
+    }
+
+    private void grow() throws IOException {
+        MappedFile grown = openFile();
+        long grownCapacity = capacity * 2;
+        for (long slot = 0; slot < capacity; slot++) {
+            long stored = file.getLong(slot * SLOT_SIZE + 8);
+            if (stored != 0) insert(grown, grownCapacity, file.getLong(slot * SLOT_SIZE), stored - 1);
+        }
+        file.close();
+        retiredFiles.add(file);
+        file = grown;
+        capacity = grownCapacity;
+    }
+
+    /**
+     * 64-битный хеш строки (FNV-1a).
+     */
+    public static long hashKey(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Хеш пакета (ID, VERSION) без склейки строк.
+     */
+    public static long hashKey(String id, String version) {
+        long hash = hashKey(id);
+        hash = (hash ^ 0xFFFF) * 0x100000001b3L; // разделитель, которого нет в ID
+        for (int i = 0; i < version.length(); i++) {
+            hash = (hash ^ version.charAt(i)) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    // Перемешивание битов (финализатор MurmurHash3): младшие биты FNV распределены плохо
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    /**
+     * Закрывает таблицу и удаляет ее файлы (всех поколений).
+     */
+    @Override
+    public void close() throws IOException {
+        file.delete();
+        for (MappedFile retired : retiredFiles) {
+            retired.delete();
+        }
+        retiredFiles.clear();
+    }
+}
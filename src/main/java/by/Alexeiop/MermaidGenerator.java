@@ -52,7 +52,7 @@ public class MermaidGenerator {
     /**
      * Создает структуру графа Mermaid.
      */
-    private String buildMermaidCode(PackageInfo root) {
+    String buildMermaidCode(PackageInfo root) {
         StringBuilder builder = new StringBuilder();
         Set<PackageInfo> visited = new HashSet<>();
 
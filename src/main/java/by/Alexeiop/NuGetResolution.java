@@ -0,0 +1,86 @@
+package by.Alexeiop;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Результат разрешения графа по правилам NuGet ("direct dependency wins" и "cousin dependencies"):
+ * граф, в котором каждый пакет присутствует ровно в одной версии,
+ * плоский список пакетов для restore и предупреждения о конфликтах и понижениях версий.
+ */
+public class NuGetResolution {
+
+    private final PackageInfo root;
+    private final List<PackageInfo> packages;
+    private final List<String> warnings;
+    private final Set<String> prunedVersions;
+    private final int fetchedPackages;
+    private final int visitedVersions;
+
+    /**
+     * @param visitedVersions Количество различных пакетов (ID, VERSION), встреченных при разрешении,
+     *                        включая корень: столько загрузок сделал бы как минимум полный обход.
+     */
+    public NuGetResolution(PackageInfo root, List<PackageInfo> packages, List<String> warnings,
+                           Set<String> prunedVersions, int fetchedPackages, int visitedVersions) {
+        this.root = root;
+        this.packages = packages;
+        this.warnings = warnings;
+        this.prunedVersions = prunedVersions;
+        this.fetchedPackages = fetchedPackages;
+        this.visitedVersions = visitedVersions;
+    }
+
+    public PackageInfo getRoot() {
+        return root;
+    }
+
+    /**
+     * @return Плоский список выбранных пакетов (без корневого).
+     */
+    public List<PackageInfo> getPackages() {
+        return packages;
+    }
+
+    public List<String> getWarnings() {
+        return warnings;
+    }
+
+    /**
+     * @return Проигравшие версии ("ID VERSION"), не попавшие в граф.
+     */
+    public Set<String> getPrunedVersions() {
+        return prunedVersions;
+    }
+
+    public int getFetchedPackages() {
+        return fetchedPackages;
+    }
+
+    public int getVisitedVersions() {
+        return visitedVersions;
+    }
+
+    public void printReport(PrintStream out) {
+        out.println("\n*** Разрешение версий (NuGet: direct dependency wins, cousin dependencies) ***");
+        List<PackageInfo> sorted = new ArrayList<>(packages);
+        sorted.sort(Comparator.comparing((PackageInfo pkg) -> pkg.getId().toLowerCase()));
+        out.println("Пакеты для restore (" + sorted.size() + "):");
+        for (PackageInfo pkg : sorted) {
+            out.printf("- %s %s%n", pkg.getId(), pkg.getVersion());
+        }
+        if (!warnings.isEmpty()) {
+            out.println("Предупреждения (" + warnings.size() + "):");
+            warnings.forEach(warning -> out.println("  ! " + warning));
+        }
+        out.println("Загружено пакетов: " + fetchedPackages);
+        // Полный обход загрузил бы все встреченные версии и, кроме того, поддеревья отброшенных
+        out.printf("Полный обход (все встреченные версии): загрузок не менее %d, сэкономлено не менее %d%n",
+                visitedVersions, visitedVersions - fetchedPackages);
+        out.println("Отброшено версий: " + prunedVersions.size()
+                + (prunedVersions.isEmpty() ? "" : " " + prunedVersions));
+    }
+}
@@ -12,6 +12,7 @@ public class PackageInfo {
 
     private final String id;
     private final String version;
+    private final int hash; // ID и версия неизменяемы, поэтому хеш вычисляется один раз
     private final List<PackageInfo> dependencies; // Прямые зависимости (A -> B) - Этап 3
     private final List<PackageInfo> reverseDependencies; // Обратные зависимости (Пакет, который зависит от текущего) - Этап 4
 
@@ -21,6 +22,7 @@ public class PackageInfo {
     public PackageInfo(String id, String version) {
         this.id = id;
         this.version = version;
+        this.hash = Objects.hash(id, version);
         this.dependencies = new ArrayList<>();
         this.reverseDependencies = new ArrayList<>();
         this.isFullyResolved = false;
@@ -84,7 +86,7 @@ public class PackageInfo {
     @Override
     public int hashCode() {
         // Хеширование также должно быть основано на ID и Version.
-        return Objects.hash(id, version);
+        return hash;
     }
 
     @Override
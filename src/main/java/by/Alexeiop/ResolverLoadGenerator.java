@@ -0,0 +1,65 @@
+package by.Alexeiop;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Локальный генератор нагрузки для режима сервера.
+ * Запуск: java -cp ConfUpravlen2-1.jar by.Alexeiop.ResolverLoadGenerator "http://127.0.0.1:8080/tree?id=A&version=1.0.0" 10000 64
+ * Аргументы: URL запроса, общее количество запросов, количество одновременных запросов.
+ */
+public class ResolverLoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Ошибка: Не задан URL запроса.");
+            return;
+        }
+        URI uri = URI.create(args[0]);
+        int totalRequests = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+
+        HttpClient client = HttpClient.newHttpClient();
+        LatencyRecorder latency = new LatencyRecorder(totalRequests);
+        AtomicInteger errors = new AtomicInteger();
+        Semaphore permits = new Semaphore(concurrency);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < totalRequests; i++) {
+                permits.acquire();
+                executor.submit(() -> {
+                    long requestStart = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).build(),
+                                HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) errors.incrementAndGet();
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        latency.record(System.nanoTime() - requestStart);
+                        permits.release();
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf(Locale.ROOT, "Запросов: %d, ошибок: %d, одновременно: %d%n", totalRequests, errors.get(), concurrency);
+        System.out.printf(Locale.ROOT, "Пропускная способность: %.1f запросов/с%n", totalRequests / seconds);
+        System.out.printf(Locale.ROOT, "Задержка клиента: p50 = %.3f мс, p99 = %.3f мс%n",
+                latency.percentileMillis(50), latency.percentileMillis(99));
+
+        // Статистика сервера (задержки обработки без учета сети)
+        URI statsUri = uri.resolve("/stats");
+        System.out.println("Статистика сервера: " + client.send(HttpRequest.newBuilder(statsUri).build(),
+                HttpResponse.BodyHandlers.ofString()).body().trim());
+    }
+}
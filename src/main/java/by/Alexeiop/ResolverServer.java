@@ -0,0 +1,277 @@
+package by.Alexeiop;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Режим сервера: долгоживущий процесс с "теплыми" кэшами и локальным HTTP API.
+ * Построенные графы хранятся в LRU-кэше, ограниченном суммарным количеством узлов,
+ * загруженные nuspec - в кэше DependencyGraphBuilder. Каждый запрос обрабатывается
+ * в отдельном виртуальном потоке, одинаковые одновременные запросы объединяются.
+ *
+ * Запросы (все - GET, параметры id и version обязательны):
+ *   /resolve  - JSON со списком пакетов и их прямых зависимостей
+ *   /tree     - ASCII-дерево
+ *   /reverse  - обратные зависимости пакета из параметра target
+ *   /render   - код графа, format=dot (по умолчанию) или mermaid
+ *   /stats    - задержки (p50/p99) и состояние кэшей
+ * Необязательные параметры: source, mode (TEST/REAL), depth.
+ */
+public class ResolverServer {
+
+    private static final int LATENCY_SAMPLES = 10_000;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final DependencyGraphBuilder graphBuilder;
+    private final LruCache<String, PackageInfo> graphCache;
+    private final Map<String, CompletableFuture<PackageInfo>> inFlight = new ConcurrentHashMap<>();
+    private final LatencyRecorder latency = new LatencyRecorder(LATENCY_SAMPLES);
+    private final AtomicLong coalescedRequests = new AtomicLong();
+    private final String defaultSource;
+    private final String defaultMode;
+
+    /**
+     * @param port Порт (сервер слушает только 127.0.0.1).
+     * @param defaultSource Репозиторий по умолчанию (URL или путь к тестовому файлу).
+     * @param defaultMode Режим работы по умолчанию ("TEST" или "REAL").
+     * @param cacheNodeBudget Максимальное суммарное количество узлов в кэше графов.
+     */
+    public ResolverServer(int port, String defaultSource, String defaultMode, long cacheNodeBudget) throws IOException {
+        this.defaultSource = defaultSource;
+        this.defaultMode = defaultMode;
+        this.graphBuilder = new DependencyGraphBuilder(new DependencyFetcher());
+        this.graphCache = new LruCache<>(cacheNodeBudget, root -> GraphIndex.build(root).size());
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/resolve", exchange -> handle(exchange, this::handleResolve));
+        server.createContext("/tree", exchange -> handle(exchange, this::handleTree));
+        server.createContext("/reverse", exchange -> handle(exchange, this::handleReverse));
+        server.createContext("/render", exchange -> handle(exchange, this::handleRender));
+        server.createContext("/stats", exchange -> handle(exchange, params -> new Response("application/json", statsJson())));
+    }
+
+    public void start() {
+        server.start();
+        System.out.println("🚀 Сервер запущен: http://127.0.0.1:" + server.getAddress().getPort() + "/");
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // --- Обработчики запросов ---
+
+    private Response handleResolve(Map<String, String> params) throws Exception {
+        PackageInfo root = resolve(params);
+        GraphIndex graph = GraphIndex.build(root);
+        StringBuilder json = new StringBuilder();
+        json.append("{\"root\": {\"id\": ").append(Json.quote(root.getId()))
+                .append(", \"version\": ").append(Json.quote(root.getVersion())).append("}")
+                .append(", \"packageCount\": ").append(graph.size())
+                .append(", \"edgeCount\": ").append(graph.edgeCount())
+                .append(", \"packages\": [");
+        for (int node = 0; node < graph.size(); node++) {
+            PackageInfo pkg = graph.node(node);
+            json.append(node == 0 ? "\n  " : ",\n  ")
+                    .append("{\"id\": ").append(Json.quote(pkg.getId()))
+                    .append(", \"version\": ").append(Json.quote(pkg.getVersion()))
+                    .append(", \"dependencies\": [");
+            for (int e = graph.edgeStart(node); e < graph.edgeEnd(node); e++) {
+                PackageInfo dep = graph.node(graph.target(e));
+                if (e > graph.edgeStart(node)) json.append(", ");
+                json.append(Json.quote(dep.getId() + ":" + dep.getVersion()));
+            }
+            json.append("]}");
+        }
+        json.append("\n]}\n");
+        return new Response("application/json", json.toString());
+    }
+
+    private Response handleTree(Map<String, String> params) throws Exception {
+        PackageInfo root = resolve(params);
+        return new Response("text/plain", print(out -> Main.printGraph(out, root, "", true, new HashSet<>(), new HashSet<>())));
+    }
+
+    private Response handleReverse(Map<String, String> params) throws Exception {
+        String target = requireParam(params, "target");
+        PackageInfo root = resolve(params);
+        return new Response("text/plain", print(out -> Main.printReverseDependencies(out, root, target)));
+    }
+
+    private Response handleRender(Map<String, String> params) throws Exception {
+        PackageInfo root = resolve(params);
+        String format = params.getOrDefault("format", "dot");
+        if ("mermaid".equalsIgnoreCase(format)) {
+            return new Response("text/plain", new MermaidGenerator().buildMermaidCode(root));
+        }
+        if ("dot".equalsIgnoreCase(format)) {
+            return new Response("text/vnd.graphviz", new GraphvizGenerator().buildDotCode(root));
+        }
+        throw new IllegalArgumentException("Неизвестный формат: " + format + " (ожидается dot или mermaid)");
+    }
+
+    private String statsJson() {
+        return "{\"requests\": " + latency.getTotal()
+                + ", \"p50Ms\": " + String.format(Locale.ROOT, "%.3f", latency.percentileMillis(50))
+                + ", \"p99Ms\": " + String.format(Locale.ROOT, "%.3f", latency.percentileMillis(99))
+                + ", \"cachedGraphs\": " + graphCache.size()
+                + ", \"cachedNodes\": " + graphCache.getTotalWeight()
+                + ", \"cacheHits\": " + graphCache.getHits()
+                + ", \"cacheMisses\": " + graphCache.getMisses()
+                + ", \"coalescedRequests\": " + coalescedRequests.get()
+                + ", \"fetches\": " + graphBuilder.getFetchCount() + "}\n";
+    }
+
+    // --- Построение графа с кэшем и объединением одинаковых запросов ---
+
+    private PackageInfo resolve(Map<String, String> params) throws Exception {
+        String id = requireParam(params, "id");
+        String version = requireParam(params, "version");
+        String source = params.getOrDefault("source", defaultSource);
+        String mode = params.getOrDefault("mode", defaultMode);
+        Integer depth = params.containsKey("depth") ? Integer.valueOf(params.get("depth")) : null;
+        if (source == null) {
+            throw new IllegalArgumentException("Не задан параметр source и репозиторий по умолчанию.");
+        }
+
+        String key = String.join("|", source, String.valueOf(mode), id, version, String.valueOf(depth));
+        PackageInfo cached = graphCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<PackageInfo> own = new CompletableFuture<>();
+        CompletableFuture<PackageInfo> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            // Такой же граф уже строится в другом запросе - ждем его результат
+            coalescedRequests.incrementAndGet();
+            try {
+                return existing.get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+            }
+        }
+
+        try {
+            // Предыдущий запрос мог завершиться между проверкой кэша и putIfAbsent
+            PackageInfo root = graphCache.get(key);
+            if (root == null) {
+                root = graphBuilder.buildDependencyGraph(id, version, source, depth, mode);
+                graphCache.put(key, root);
+            }
+            own.complete(root);
+            return root;
+        } catch (Throwable e) {
+            // Любая ошибка (в том числе Error) должна разбудить ожидающие запросы
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    // --- Вспомогательные методы HTTP ---
+
+    private interface Handler {
+        Response handle(Map<String, String> params) throws Exception;
+    }
+
+    private static class Response {
+        final String contentType;
+        final String body;
+
+        Response(String contentType, String body) {
+            this.contentType = contentType;
+            this.body = body;
+        }
+    }
+
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        long start = System.nanoTime();
+        int status = 200;
+        Response response;
+        try {
+            if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+                status = 405;
+                response = new Response("text/plain", "Поддерживается только GET.\n");
+            } else {
+                response = handler.handle(parseQuery(exchange.getRequestURI().getRawQuery()));
+            }
+        } catch (IllegalArgumentException e) {
+            status = 400;
+            response = new Response("text/plain", "Ошибка в запросе: " + e.getMessage() + "\n");
+        } catch (Exception e) {
+            status = 500;
+            response = new Response("text/plain", "Ошибка сервера: " + e.getMessage() + "\n");
+        }
+
+        byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", response.contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+        latency.record(System.nanoTime() - start);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static String requireParam(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Не задан параметр " + name);
+        }
+        return value;
+    }
+
+    private interface Printer {
+        void print(PrintStream out);
+    }
+
+    private static String print(Printer printer) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(buffer, true, StandardCharsets.UTF_8);
+        printer.print(out);
+        return buffer.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,101 @@
+package by.Alexeiop;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Генератор синтетических графов зависимостей для замеров производительности.
+ * Все узлы достижимы из корня "P0"; часть ребер направлена "назад" и образует циклы.
+ */
+public class SyntheticGraphGenerator {
+
+    private final Random random;
+
+    public SyntheticGraphGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * @param nodeCount Количество пакетов.
+     * @param averageDegree Среднее количество прямых зависимостей пакета.
+     * @param backEdgeRatio Доля ребер, ведущих к более раннему пакету (создают циклы).
+     * @return Корневой пакет графа.
+     */
+    public PackageInfo generate(int nodeCount, int averageDegree, double backEdgeRatio) {
+        List<PackageInfo> packages = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            packages.add(new PackageInfo("P" + i, "1.0." + (i % 10)));
+        }
+
+        for (int i = 1; i < nodeCount; i++) {
+            // Остовное ребро гарантирует достижимость из корня
+            link(packages.get(random.nextInt(i)), packages.get(i));
+        }
+        long extraEdges = (long) nodeCount * Math.max(0, averageDegree - 1);
+        for (long e = 0; e < extraEdges; e++) {
+            int from = random.nextInt(nodeCount);
+            int to;
+            if (random.nextDouble() < backEdgeRatio || from == nodeCount - 1) {
+                to = random.nextInt(from + 1);
+            } else {
+                to = from + 1 + random.nextInt(nodeCount - from - 1);
+            }
+            link(packages.get(from), packages.get(to));
+        }
+        return packages.get(0);
+    }
+
+    /**
+     * Потоково пишет граф того же вида в формате тестового репозитория ("P1 -> P3:1.0.3, ..."),
+     * не создавая объектов PackageInfo: годится для графов, которые не помещаются в кучу.
+     * Достижимость из корня обеспечивает двоичное дерево (P{i} -> P{2i+1}, P{2i+2}),
+     * остальные averageDegree - 1 ребер на узел в среднем выбираются случайно.
+     * @return Количество записанных ребер.
+     */
+    public long writeTestRepository(Path file, int nodeCount, int averageDegree, double backEdgeRatio) throws IOException {
+        long edgeCount = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            StringBuilder line = new StringBuilder();
+            for (int i = 0; i < nodeCount; i++) {
+                line.setLength(0);
+                int dependencies = 0;
+                for (long child = 2L * i + 1; child <= 2L * i + 2 && child < nodeCount; child++) {
+                    appendDependency(line, (int) child, dependencies++);
+                }
+                // Случайные ребра: в среднем averageDegree - 1 на узел
+                int extra = random.nextInt(2 * Math.max(0, averageDegree - 1) + 1);
+                for (int e = 0; e < extra && nodeCount > 1; e++) {
+                    int to;
+                    if (random.nextDouble() < backEdgeRatio || i == nodeCount - 1) {
+                        to = random.nextInt(i + 1);
+                    } else {
+                        to = i + 1 + random.nextInt(nodeCount - i - 1);
+                    }
+                    appendDependency(line, to, dependencies++);
+                }
+                if (dependencies > 0) {
+                    writer.write("P" + i + " -> ");
+                    writer.append(line);
+                    writer.newLine();
+                    edgeCount += dependencies;
+                }
+            }
+        }
+        return edgeCount;
+    }
+
+    private static void appendDependency(StringBuilder line, int node, int position) {
+        if (position > 0) line.append(", ");
+        line.append('P').append(node).append(":1.0.").append(node % 10);
+    }
+
+    private void link(PackageInfo from, PackageInfo to) {
+        from.addDependency(to);
+        to.addReverseDependency(from);
+    }
+}
@@ -0,0 +1,132 @@
+package by.Alexeiop;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Индекс файла тестового репозитория: хеш имени пакета -> смещение строки в файле.
+ * Файл читается один раз потоково; затем строка пакета читается с диска по смещению,
+ * вместо того чтобы держать весь файл в памяти (DependencyGraphBuilder.getTestDependencies
+ * читает его целиком на каждый пакет). Правила поиска те же: строка "NAME:VERSION -> ..."
+ * важнее строки "NAME -> ...", при повторах используется первая строка.
+ */
+public class TestRepositoryIndex implements Closeable {
+
+    private static final byte[] ARROW = " -> ".getBytes(StandardCharsets.US_ASCII);
+
+    private final FileChannel channel;
+    private final MappedLongHashTable lineOffsets;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(8192);
+
+    private TestRepositoryIndex(FileChannel channel, MappedLongHashTable lineOffsets) {
+        this.channel = channel;
+        this.lineOffsets = lineOffsets;
+    }
+
+    /**
+     * Строит индекс.
+     * @param repositoryFile Файл тестового репозитория.
+     * @param spillDirectory Каталог для файла хеш-таблицы.
+     */
+    public static TestRepositoryIndex build(Path repositoryFile, Path spillDirectory) throws IOException {
+        // Оценка количества строк по размеру файла (таблица при необходимости вырастет)
+        MappedLongHashTable lineOffsets = new MappedLongHashTable(spillDirectory, "test-index",
+                Files.size(repositoryFile) / 64);
+        try (InputStream in = Files.newInputStream(repositoryFile)) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+            byte[] chunk = new byte[1 << 16];
+            long offset = 0;
+            long lineStart = 0;
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                int from = 0;
+                for (int i = 0; i < read; i++) {
+                    if (chunk[i] != '\n') continue;
+                    line.write(chunk, from, i - from);
+                    indexLine(line.toByteArray(), lineStart, lineOffsets);
+                    line.reset();
+                    from = i + 1;
+                    lineStart = offset + from;
+                }
+                line.write(chunk, from, read - from);
+                offset += read;
+            }
+            indexLine(line.toByteArray(), lineStart, lineOffsets);
+        } catch (IOException e) {
+            lineOffsets.close();
+            throw e;
+        }
+        return new TestRepositoryIndex(FileChannel.open(repositoryFile, StandardOpenOption.READ), lineOffsets);
+    }
+
+    private static void indexLine(byte[] line, long lineStart, MappedLongHashTable lineOffsets) throws IOException {
+        int arrow = indexOf(line, ARROW);
+        if (arrow <= 0) return;
+        // Ключ - левая часть строки ("NAME" или "NAME:VERSION") без учета регистра, как в getTestDependencies
+        String key = new String(line, 0, arrow, StandardCharsets.UTF_8).trim();
+        if (key.isEmpty() || key.startsWith("#")) return;
+        lineOffsets.putIfAbsent(MappedLongHashTable.hashKey(key.toUpperCase()), lineStart);
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern) {
+        outer:
+        for (int i = 0; i + pattern.length <= data.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @return Прямые зависимости пакета (пустой список, если пакета нет в файле).
+     */
+    public List<PackageInfo> getDependencies(String packageName, String packageVersion) throws IOException {
+        String searchName = packageName.toUpperCase();
+        long offset = lineOffsets.get(MappedLongHashTable.hashKey(searchName + ":" + packageVersion.toUpperCase()), -1);
+        if (offset < 0) {
+            offset = lineOffsets.get(MappedLongHashTable.hashKey(searchName), -1);
+        }
+        if (offset < 0) {
+            return new ArrayList<>();
+        }
+        return DependencyGraphBuilder.parseTestDependencyLine(readLine(offset).trim());
+    }
+
+    private String readLine(long offset) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+        long position = offset;
+        while (true) {
+            readBuffer.clear();
+            int read = channel.read(readBuffer, position);
+            if (read <= 0) break;
+            byte[] data = readBuffer.array();
+            for (int i = 0; i < read; i++) {
+                if (data[i] == '\n') {
+                    line.write(data, 0, i);
+                    return line.toString(StandardCharsets.UTF_8);
+                }
+            }
+            line.write(data, 0, read);
+            position += read;
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        lineOffsets.close();
+    }
+}
@@ -0,0 +1,80 @@
+package by.Alexeiop;
+
+import java.util.Comparator;
+
+/**
+ * Сравнение версий NuGet (SemVer): "1.2.10" > "1.2.9", "2.0.0" > "2.0.0-beta".
+ * Недостающие числовые части считаются нулями ("1.0" == "1.0.0"),
+ * метаданные сборки после '+' не учитываются.
+ */
+public class VersionComparator implements Comparator<String> {
+
+    public static final VersionComparator INSTANCE = new VersionComparator();
+
+    @Override
+    public int compare(String left, String right) {
+        String a = stripMetadata(left);
+        String b = stripMetadata(right);
+        int aDash = a.indexOf('-');
+        int bDash = b.indexOf('-');
+        String aRelease = aDash == -1 ? a : a.substring(0, aDash);
+        String bRelease = bDash == -1 ? b : b.substring(0, bDash);
+
+        // 1. Числовая часть
+        String[] aParts = aRelease.split("\\.");
+        String[] bParts = bRelease.split("\\.");
+        for (int i = 0; i < Math.max(aParts.length, bParts.length); i++) {
+            int result = compareParts(i < aParts.length ? aParts[i] : "0", i < bParts.length ? bParts[i] : "0");
+            if (result != 0) return result;
+        }
+
+        // 2. Релиз старше любой предварительной версии
+        if (aDash == -1 || bDash == -1) {
+            return Boolean.compare(aDash == -1, bDash == -1);
+        }
+
+        // 3. Предварительные версии: по частям через точку
+        String[] aLabels = a.substring(aDash + 1).split("\\.");
+        String[] bLabels = b.substring(bDash + 1).split("\\.");
+        for (int i = 0; i < Math.min(aLabels.length, bLabels.length); i++) {
+            int result = compareParts(aLabels[i], bLabels[i]);
+            if (result != 0) return result;
+        }
+        return Integer.compare(aLabels.length, bLabels.length);
+    }
+
+    private static int compareParts(String a, String b) {
+        boolean aNumeric = isNumeric(a);
+        boolean bNumeric = isNumeric(b);
+        if (aNumeric && bNumeric) {
+            // Сравнение без переполнения: сначала длина без ведущих нулей, затем строка
+            String aTrimmed = stripLeadingZeros(a);
+            String bTrimmed = stripLeadingZeros(b);
+            if (aTrimmed.length() != bTrimmed.length()) return Integer.compare(aTrimmed.length(), bTrimmed.length());
+            return aTrimmed.compareTo(bTrimmed);
+        }
+        if (aNumeric != bNumeric) {
+            return aNumeric ? -1 : 1; // Числовые метки младше буквенных (SemVer)
+        }
+        return a.compareToIgnoreCase(b);
+    }
+
+    private static boolean isNumeric(String value) {
+        if (value.isEmpty()) return false;
+        for (int i = 0; i < value.length(); i++) {
+            if (!Character.isDigit(value.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static String stripLeadingZeros(String value) {
+        int i = 0;
+        while (i < value.length() - 1 && value.charAt(i) == '0') i++;
+        return value.substring(i);
+    }
+
+    private static String stripMetadata(String version) {
+        int plus = version.indexOf('+');
+        return (plus == -1 ? version : version.substring(0, plus)).trim();
+    }
+}